@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Runs the test suite as N shards in separate Gradle processes on this machine, each with its own build
+# directory, fixture server and Chrome, then merges the results into build/test-results/merged and
+# build/reports/selenium/merged. On CI, run one shard per node instead:
+#   ./gradlew test -PshardCount=N -PshardIndex=i
+# and collect each node's build directory under build/shards/<i> before running ./gradlew mergeShards.
+#
+# Usage: scripts/run-shards.sh <shards> [gradle args...]   (GRADLE=gradle to use an installed Gradle)
+set -u
+cd "$(dirname "$0")/.."
+
+shards=${1:?usage: scripts/run-shards.sh <shards> [gradle args...]}
+shift
+read -r -a gradle <<< "${GRADLE:-sh ./gradlew}"
+
+rm -rf build/shards
+"${gradle[@]}" -q testClasses || exit 1
+
+pids=()
+for ((i = 0; i < shards; i++)); do
+  dir=build/shards/$i
+  mkdir -p "$dir"
+  "${gradle[@]}" test -PshardCount="$shards" -PshardIndex="$i" -PshardBuildDir="$dir" \
+      --project-cache-dir "$dir/.gradle" "$@" > "$dir/gradle.log" 2>&1 &
+  pids+=($!)
+done
+
+status=0
+for i in "${!pids[@]}"; do
+  if ! wait "${pids[$i]}"; then
+    echo "shard $i failed, see build/shards/$i/gradle.log"
+    status=1
+  fi
+done
+
+"${gradle[@]}" -q mergeShards || status=1
+exit $status
@@ -0,0 +1,49 @@
+package Evgeni4.bench;
+
+import Evgeni4.support.FixtureServer;
+import Evgeni4.support.Fixtures;
+import Evgeni4.support.LaunchProfile;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One Chrome per benchmark trial, pointed at the local fixture pages. The session uses the same
+ * {@link LaunchProfile} as the tests, {@code headless-fast} unless {@code browser.profile} says otherwise.
+ */
+@State(Scope.Benchmark)
+public class BrowserState {
+    WebDriver driver;
+
+    static WebDriver launch(LaunchProfile profile) {
+        return profile.launch();
+    }
+
+    WebDriver open(String page) {
+        if (driver == null) {
+            driver = launch(LaunchProfile.resolve(""));
+        }
+        driver.get(Fixtures.url(page));
+        return driver;
+    }
+
+    @TearDown
+    public void quit() {
+        if (driver != null) {
+            try {
+                driver.quit();
+            } finally {
+                driver = null;
+            }
+        }
+    }
+
+    /**
+     * The fixture server's dispatcher thread would otherwise keep the forked JVM alive.
+     */
+    @TearDown
+    public void closeFixtures() {
+        FixtureServer.closeShared();
+    }
+}
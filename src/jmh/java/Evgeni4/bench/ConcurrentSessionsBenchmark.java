@@ -0,0 +1,130 @@
+package Evgeni4.bench;
+
+import Evgeni4.support.FixtureServer;
+import Evgeni4.support.Fixtures;
+import Evgeni4.support.LaunchProfile;
+import Evgeni4.support.SessionExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@code sessions} Chrome sessions at once from one JVM, each starting, walking the three
+ * navigation pages and the form, and quitting, with one {@link SessionExecutor} task per session.
+ * {@code virtual} gives every session its own virtual thread; {@code fixed} runs them on
+ * {@code threads} platform threads, so sessions beyond the pool wait for a free thread.
+ * <p>
+ * The score is the wall time of the whole wave. The {@code completed} and {@code failed} counters show
+ * how many sessions made it; the most platform threads alive during a wave is printed after the trial.
+ * That count includes the HTTP client threads each session keeps, so it still grows with the session
+ * count under {@code virtual}, just not by one blocked worker per session. On a runtime before Java 21
+ * the {@code virtual} rows fail in setup rather than report fixed-pool numbers under the wrong label;
+ * narrow the run with {@code -p executor=fixed} there.
+ * Raise {@code sessions} with {@code -p sessions=...} until sessions start failing or the wave time grows
+ * faster than the count to find what one box sustains.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class ConcurrentSessionsBenchmark {
+    private static final String[] PAGES = {"navigation1.html", "navigation2.html", "navigation3.html", "web-form.html"};
+
+    @Param({"virtual", "fixed"})
+    String executor;
+
+    @Param({"8", "32"})
+    int sessions;
+
+    @Param({"8"})
+    int threads;
+
+    SessionExecutor.Mode mode;
+    int peakThreads;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long completed;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void resolve() {
+        mode = SessionExecutor.Mode.named(executor);
+        if (SessionExecutor.effective(mode) != mode) {
+            throw new IllegalStateException("Virtual threads need Java 21, this is " + Runtime.version().feature()
+                    + "; run with -p executor=fixed");
+        }
+    }
+
+    @Benchmark
+    public void wave(Outcomes outcomes) throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+        ExecutorService pool = SessionExecutor.create(mode, threads);
+        List<Future<?>> running = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                running.add(pool.submit(ConcurrentSessionsBenchmark::journey));
+            }
+            for (Future<?> session : running) {
+                try {
+                    session.get();
+                    outcomes.completed++;
+                } catch (ExecutionException e) {
+                    outcomes.failed++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        peakThreads = Math.max(peakThreads, threadBean.getPeakThreadCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void printPeakThreads() {
+        System.out.println("peak platform threads in a wave: " + peakThreads);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeFixtures() {
+        FixtureServer.closeShared();
+    }
+
+    private static void journey() {
+        WebDriver driver = BrowserState.launch(LaunchProfile.HEADLESS_FAST);
+        try {
+            for (String page : PAGES) {
+                driver.get(Fixtures.url(page));
+                driver.findElement(By.tagName("h1")).getText();
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+}
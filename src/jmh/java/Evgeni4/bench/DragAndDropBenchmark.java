@@ -0,0 +1,75 @@
+package Evgeni4.bench;
+
+import Evgeni4.support.Drag;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link Drag} strategy on drag-and-drop.html, including the script call that checks where
+ * the element landed. The page is reloaded outside the measured region before every invocation.
+ * Drops that landed inside the target and ones that missed are reported as the {@code inside} and
+ * {@code missed} secondary results; the success rate is inside over inside plus missed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+public class DragAndDropBenchmark {
+    @Param({"actions", "direct", "stepped:5:0", "stepped:20:10"})
+    String strategy;
+
+    BrowserState browser;
+    Drag drag;
+    WebDriver driver;
+    WebElement draggable;
+    WebElement target;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long inside;
+        public long missed;
+    }
+
+    @Setup(Level.Trial)
+    public void start(BrowserState browser) {
+        this.browser = browser;
+        drag = Drag.named(strategy);
+    }
+
+    @Setup(Level.Invocation)
+    public void reload() {
+        driver = browser.open("drag-and-drop.html");
+        draggable = driver.findElement(By.id("draggable"));
+        target = driver.findElement(By.id("target"));
+    }
+
+    @Benchmark
+    public Drag.Drop dragAndDrop(Outcomes outcomes) {
+        Drag.Drop drop = drag.perform(driver, draggable, target);
+        if (drop.inside()) {
+            outcomes.inside++;
+        } else {
+            outcomes.missed++;
+        }
+        return drop;
+    }
+}
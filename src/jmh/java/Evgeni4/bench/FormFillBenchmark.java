@@ -0,0 +1,62 @@
+package Evgeni4.bench;
+
+import Evgeni4.pages.WebFormData;
+import Evgeni4.pages.WebFormPage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forms per second through {@link WebFormPage#fillAndSubmit}: open web-form.html, fill every field from
+ * a generated {@link WebFormData}, submit and compare the query string. Records come from a fixed seed,
+ * so runs are comparable. Records whose query string did not match count as {@code mismatched}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+public class FormFillBenchmark {
+    private static final Path FILE = Path.of("src/test/resources/mando.jpg");
+
+    BrowserState browser;
+    Random random;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long matched;
+        public long mismatched;
+    }
+
+    @Setup
+    public void start(BrowserState browser) {
+        this.browser = browser;
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public WebFormPage.SubmittedForm fillAndSubmit(Outcomes outcomes) {
+        WebFormData data = WebFormData.generate(random, FILE);
+        WebFormPage.SubmittedForm submitted = new WebFormPage(browser.open("web-form.html")).fillAndSubmit(data);
+        if (submitted.query().equals(data.expectedQuery())) {
+            outcomes.matched++;
+        } else {
+            outcomes.mismatched++;
+        }
+        return submitted;
+    }
+}
@@ -0,0 +1,53 @@
+package Evgeni4.bench;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the score change of every benchmark between two JMH JSON result files.
+ */
+public final class JmhCompare {
+
+    private JmhCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: JmhCompare <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, Double> baseline = scores(Path.of(args[0]));
+        Map<String, Double> current = scores(Path.of(args[1]));
+
+        System.out.printf("%-90s %12s %12s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            double after = entry.getValue();
+            System.out.printf("%-90s %12s %12.3f %9s%n", entry.getKey(),
+                    before == null ? "-" : String.format("%.3f", before), after,
+                    before == null ? "new" : String.format("%+.1f%%", (after - before) / before * 100));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Double> scores(Path file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            List<Map<String, Object>> results = new Json().toType(reader, Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> result : results) {
+                Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+                String name = result.get("benchmark") + " " + result.getOrDefault("params", "")
+                        + " [" + metric.get("scoreUnit") + "]";
+                scores.put(name, ((Number) metric.get("score")).doubleValue());
+            }
+        }
+        return scores;
+    }
+}
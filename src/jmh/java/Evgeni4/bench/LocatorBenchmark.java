@@ -0,0 +1,73 @@
+package Evgeni4.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findElement latency by locator strategy, for the locators the test classes actually use.
+ * Each parameter is {@code page|strategy|value}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+public class LocatorBenchmark {
+
+    @Param({
+            "web-form.html|id|my-check-1",
+            "web-form.html|css|#my-check-1",
+            "web-form.html|name|my-range",
+            "web-form.html|css|[name='my-range']",
+            "web-form.html|xpath|//input[@name='my-range']",
+            "web-form.html|css|button[type = 'submit'].btn",
+            "navigation1.html|xpath|//a[text()='Next']/..",
+            "navigation1.html|css|.pagination li:last-child",
+    })
+    public String locator;
+
+    WebDriver driver;
+    By by;
+
+    @Setup
+    public void open(BrowserState browser) {
+        String[] parts = locator.split("\\|", 3);
+        driver = browser.open(parts[0]);
+        by = by(parts[1], parts[2]);
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return driver.findElement(by);
+    }
+
+    static By by(String strategy, String value) {
+        switch (strategy) {
+            case "id":
+                return By.id(value);
+            case "name":
+                return By.name(value);
+            case "css":
+                return By.cssSelector(value);
+            case "xpath":
+                return By.xpath(value);
+            default:
+                throw new IllegalArgumentException("Unknown locator strategy: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package Evgeni4.bench;
+
+import Evgeni4.support.ElementState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Individual getAttribute calls against one batched {@link ElementState} read, and
+ * {@code Select.getOptions()} against a single script read of the option values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+public class ReadBenchmark {
+    private static final String[] SLIDER_ATTRIBUTES = {"type", "name", "min", "max", "step", "value"};
+
+    WebDriver driver;
+    WebElement slider;
+    WebElement select;
+
+    @Setup
+    public void open(BrowserState browser) {
+        driver = browser.open("web-form.html");
+        slider = driver.findElement(By.cssSelector("[name='my-range']"));
+        select = driver.findElement(By.cssSelector("[name='my-select']"));
+    }
+
+    @Benchmark
+    public List<String> sliderGetAttribute() {
+        List<String> values = new ArrayList<>(SLIDER_ATTRIBUTES.length);
+        for (String attribute : SLIDER_ATTRIBUTES) {
+            values.add(slider.getAttribute(attribute));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public ElementState sliderBatchedRead() {
+        return ElementState.read(driver, slider, SLIDER_ATTRIBUTES);
+    }
+
+    @Benchmark
+    public List<String> selectGetOptions() {
+        List<String> values = new ArrayList<>();
+        for (WebElement option : new Select(select).getOptions()) {
+            values.add(option.getAttribute("value"));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public Object selectScriptRead() {
+        return ((JavascriptExecutor) driver).executeScript(
+                "return Array.prototype.map.call(arguments[0].options, function (o) { return o.value; });", select);
+    }
+}
@@ -0,0 +1,57 @@
+package Evgeni4.bench;
+
+import Evgeni4.support.FixtureServer;
+import Evgeni4.support.Fixtures;
+import Evgeni4.support.LaunchProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to start a Chrome session and quit it again, per {@link LaunchProfile}. The headed profiles
+ * need a display; narrow the run with {@code -p profile=headless-fast,headless} on a CI agent.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class SessionStartupBenchmark {
+
+    @Param({"headless-fast", "headless", "headed", "headed-debug"})
+    String profile;
+
+    @TearDown(Level.Trial)
+    public void closeFixtures() {
+        FixtureServer.closeShared();
+    }
+
+    @Benchmark
+    public void startAndQuit() {
+        WebDriver driver = BrowserState.launch(LaunchProfile.named(profile));
+        driver.quit();
+    }
+
+    @Benchmark
+    public void startLoadFormAndQuit() {
+        WebDriver driver = BrowserState.launch(LaunchProfile.named(profile));
+        try {
+            driver.get(Fixtures.url("web-form.html"));
+        } finally {
+            driver.quit();
+        }
+    }
+}
@@ -1,9 +1,123 @@
 package Evgeni4;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import Evgeni4.load.Journey;
+import Evgeni4.load.LoadRun;
+import Evgeni4.support.FixtureServer;
+import Evgeni4.support.LaunchProfile;
+import Evgeni4.support.SessionExecutor;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Synthetic-journey load driver: replays the test journeys with many headless sessions at once against
+ * the bundled copy of the practice pages and prints per-step throughput, latency percentiles and error
+ * rates. {@code gradle load -PloadArgs="--sessions 16 --duration 2m"} runs it from the build.
+ */
 public class Main {
-    public static void main(String[] args) {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "usage: Main [options]",
+            "  --sessions N        concurrent browser sessions (default 4)",
+            "  --duration D        how long to run, e.g. 90s, 5m or PT1M (default 60s)",
+            "  --ramp-up D         spread session starts over D (default 10s)",
+            "  --journeys a,b      navigation, dropdown, form (default all)",
+            "  --profile ID        launch profile (default headless-fast)",
+            "  --executor MODE     virtual or fixed (default virtual)",
+            "  --base-url URL      serve the pages from URL instead of the bundled ones");
+
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = 4;
+        Duration duration = Duration.ofSeconds(60);
+        Duration rampUp = Duration.ofSeconds(10);
+        List<Journey> journeys = Arrays.asList(Journey.values());
+        LaunchProfile profile = LaunchProfile.HEADLESS_FAST;
+        SessionExecutor.Mode executor = SessionExecutor.Mode.VIRTUAL;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--help") || option.equals("-h")) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--sessions":
+                        sessions = Integer.parseInt(value);
+                        break;
+                    case "--duration":
+                        duration = duration(value);
+                        break;
+                    case "--ramp-up":
+                        rampUp = duration(value);
+                        break;
+                    case "--journeys":
+                        journeys = new ArrayList<>();
+                        for (String id : value.split(",")) {
+                            journeys.add(Journey.named(id.trim()));
+                        }
+                        break;
+                    case "--profile":
+                        profile = LaunchProfile.named(value);
+                        break;
+                    case "--executor":
+                        executor = SessionExecutor.Mode.named(value);
+                        break;
+                    case "--base-url":
+                        System.setProperty("fixtures.baseUrl", value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            if (System.getProperty("fixtures.baseUrl", "").isEmpty()) {
+                System.out.println("serving bundled pages at " + FixtureServer.get().baseUrl());
+            }
+            LoadRun run = new LoadRun(sessions, duration, rampUp, journeys, profile, executor);
+            System.out.print(run.run());
+        } finally {
+            FixtureServer.closeShared();
+        }
+    }
 
+    /**
+     * {@code 90s}, {@code 5m}, {@code 1h} or an ISO-8601 duration.
+     */
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("pt")) {
+            try {
+                return Duration.parse(text.toUpperCase(Locale.ROOT));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Not an ISO-8601 duration: " + value, e);
+            }
+        }
+        if (text.length() < 2) {
+            throw new IllegalArgumentException("Duration needs an amount and an s, m or h suffix: " + value);
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        switch (text.charAt(text.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException("Duration needs an s, m or h suffix: " + value);
+        }
     }
-}
\ No newline at end of file
+}
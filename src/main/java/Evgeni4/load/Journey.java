@@ -0,0 +1,116 @@
+package Evgeni4.load;
+
+import Evgeni4.pages.Locators;
+import Evgeni4.support.Fixtures;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * User journeys replayed by the load driver, taken from the browser tests: the pagination walk of
+ * {@code SeleniumNavigatorTests}, the three menus of {@code SeleniumDropdownTests} and the form submit of
+ * {@code SeleniumWebFormTests}. Each step ends on a condition the tests assert, so a step only counts as
+ * done once the page really got there. Locators come from {@link Locators}, which the page objects share.
+ */
+public enum Journey {
+    NAVIGATION(
+            step("open navigation1", driver -> open(driver, "navigation1.html")),
+            step("next to 2", driver -> click(driver, Locators.NAVIGATION_NEXT, "navigation2.html")),
+            step("next to 3", driver -> click(driver, Locators.NAVIGATION_NEXT, "navigation3.html")),
+            step("back to 2", driver -> {
+                driver.navigate().back();
+                await(driver).until(ExpectedConditions.urlContains("navigation2.html"));
+            })),
+    DROPDOWN(
+            step("open dropdown-menu", driver -> open(driver, "dropdown-menu.html")),
+            step("left-click menu", driver -> {
+                driver.findElement(Locators.dropdownToggle(1)).click();
+                await(driver).until(ExpectedConditions.visibilityOfElementLocated(Locators.DROPDOWN_LEFT_CLICK_MENU));
+            }),
+            step("right-click menu", driver -> {
+                new Actions(driver).contextClick(driver.findElement(Locators.dropdownToggle(2))).perform();
+                await(driver).until(ExpectedConditions.visibilityOfElementLocated(Locators.DROPDOWN_RIGHT_CLICK_MENU));
+            }),
+            step("double-click menu", driver -> {
+                new Actions(driver).doubleClick(driver.findElement(Locators.dropdownToggle(3))).perform();
+                await(driver).until(ExpectedConditions.visibilityOfElementLocated(Locators.DROPDOWN_DOUBLE_CLICK_MENU));
+            })),
+    FORM(
+            step("open web-form", driver -> open(driver, "web-form.html")),
+            step("fill", driver -> {
+                driver.findElement(Locators.FORM_TEXT).sendKeys("load test");
+                driver.findElement(Locators.FORM_TEXTAREA).sendKeys("Line1\nLine2");
+                new Select(driver.findElement(Locators.FORM_SELECT)).selectByValue("2");
+            }),
+            step("submit", driver -> click(driver, Locators.FORM_SUBMIT, "submitted-form.html")));
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<Step> steps;
+
+    Journey(Step... steps) {
+        this.steps = List.of(steps);
+    }
+
+    public String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public List<Step> steps() {
+        return steps;
+    }
+
+    public static Journey named(String id) {
+        return Arrays.stream(values())
+                .filter(journey -> journey.id().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown journey '" + id + "', expected one of "
+                        + Arrays.toString(Arrays.stream(values()).map(Journey::id).toArray())));
+    }
+
+    private static Step step(String name, Consumer<WebDriver> action) {
+        return new Step(name, action);
+    }
+
+    private static void open(WebDriver driver, String page) {
+        driver.get(Fixtures.url(page));
+    }
+
+    private static void click(WebDriver driver, By locator, String expectedPage) {
+        driver.findElement(locator).click();
+        await(driver).until(ExpectedConditions.urlContains(expectedPage));
+    }
+
+    private static WebDriverWait await(WebDriver driver) {
+        WebDriverWait wait = new WebDriverWait(driver, TIMEOUT);
+        wait.pollingEvery(Duration.ofMillis(10));
+        return wait;
+    }
+
+    public static final class Step {
+        private final String name;
+        private final Consumer<WebDriver> action;
+
+        private Step(String name, Consumer<WebDriver> action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public void run(WebDriver driver) {
+            action.accept(driver);
+        }
+    }
+}
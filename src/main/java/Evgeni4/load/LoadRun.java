@@ -0,0 +1,228 @@
+package Evgeni4.load;
+
+import Evgeni4.support.LaunchProfile;
+import Evgeni4.support.SessionExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@code sessions} browser sessions side by side for {@code duration}, each replaying the journeys
+ * in turn, and keeps a {@link LatencyHistogram} and an error count per journey step. Sessions are started
+ * one {@code rampUp / sessions} apart so Chrome start-up does not land all at once. A step that throws
+ * ends its journey; a session the driver lost is quit and started again.
+ */
+public final class LoadRun {
+    private final int sessions;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final List<Journey> journeys;
+    private final LaunchProfile profile;
+    private final SessionExecutor.Mode executor;
+
+    private final Stats sessionStarts = new Stats("session start");
+    private final Map<String, Stats> steps = new LinkedHashMap<>();
+    private final Map<Journey, AtomicLong> completed = new LinkedHashMap<>();
+
+    public LoadRun(int sessions, Duration duration, Duration rampUp, List<Journey> journeys, LaunchProfile profile,
+                   SessionExecutor.Mode executor) {
+        if (sessions < 1 || journeys.isEmpty() || duration.isNegative() || duration.isZero() || rampUp.isNegative()) {
+            throw new IllegalArgumentException("Need at least one session and journey and a positive duration");
+        }
+        this.sessions = sessions;
+        this.duration = duration;
+        this.rampUp = rampUp;
+        this.journeys = journeys;
+        this.profile = profile;
+        this.executor = executor;
+        for (Journey journey : journeys) {
+            completed.put(journey, new AtomicLong());
+            for (Journey.Step step : journey.steps()) {
+                steps.put(key(journey, step), new Stats(key(journey, step)));
+            }
+        }
+    }
+
+    /**
+     * Runs the load and returns the report.
+     */
+    public String run() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService pool = SessionExecutor.create(executor, sessions);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                long startAt = start + rampUp.toNanos() * i / sessions;
+                int first = i;
+                workers.add(pool.submit(() -> session(first, startAt, deadline)));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    System.err.println("Session worker failed: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return report((System.nanoTime() - start) / 1e9);
+    }
+
+    private void session(int first, long startAt, long deadline) {
+        sleepUntil(startAt);
+        WebDriver driver = null;
+        int next = first;
+        try {
+            while (System.nanoTime() < deadline) {
+                if (driver == null) {
+                    driver = start();
+                    if (driver == null) {
+                        continue;
+                    }
+                }
+                Journey journey = journeys.get(next++ % journeys.size());
+                if (replay(driver, journey, deadline)) {
+                    quit(driver);
+                    driver = null;
+                }
+            }
+        } finally {
+            quit(driver);
+        }
+    }
+
+    private WebDriver start() {
+        long starting = System.nanoTime();
+        try {
+            WebDriver driver = profile.launch();
+            sessionStarts.record(System.nanoTime() - starting);
+            return driver;
+        } catch (RuntimeException e) {
+            sessionStarts.error(e);
+            sleepUntil(System.nanoTime() + 1_000_000_000L);
+            return null;
+        }
+    }
+
+    /**
+     * Replays one journey; returns whether the session was lost on the way.
+     */
+    private boolean replay(WebDriver driver, Journey journey, long deadline) {
+        for (Journey.Step step : journey.steps()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Stats stats = steps.get(key(journey, step));
+            long stepStart = System.nanoTime();
+            try {
+                step.run(driver);
+                stats.record(System.nanoTime() - stepStart);
+            } catch (NoSuchSessionException | UnreachableBrowserException e) {
+                stats.error(e);
+                return true;
+            } catch (RuntimeException e) {
+                stats.error(e);
+                return false;
+            }
+        }
+        completed.get(journey).incrementAndGet();
+        return false;
+    }
+
+    private String report(double seconds) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%d sessions (%s threads, profile %s) for %.1f s%n%n", sessions,
+                SessionExecutor.effective(executor).name().toLowerCase(Locale.ROOT), profile.id(), seconds));
+        report.append(String.format(Locale.ROOT, "%-36s %8s %7s %7s %8s %8s %8s %8s %8s%n",
+                "step", "ok", "errors", "err %", "per s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        report.append(sessionStarts.format(seconds));
+        steps.values().forEach(stats -> report.append(stats.format(seconds)));
+        report.append(System.lineSeparator());
+        completed.forEach((journey, count) -> report.append(String.format(Locale.ROOT,
+                "%-12s %8d journeys  %8.2f per s%n", journey.id(), count.get(), count.get() / seconds)));
+        List<String> errors = new ArrayList<>();
+        steps.values().forEach(stats -> errors.addAll(stats.firstErrors()));
+        errors.addAll(sessionStarts.firstErrors());
+        if (!errors.isEmpty()) {
+            report.append(System.lineSeparator()).append("first errors:").append(System.lineSeparator());
+            errors.forEach(error -> report.append("  ").append(error).append(System.lineSeparator()));
+        }
+        return report.toString();
+    }
+
+    private static String key(Journey journey, Journey.Step step) {
+        return journey.id() + ": " + step.name();
+    }
+
+    private static void quit(WebDriver driver) {
+        if (driver != null) {
+            try {
+                driver.quit();
+            } catch (RuntimeException ignored) { }
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final String name;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final List<String> firstErrors = new ArrayList<>();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            latencies.record(nanos / 1000);
+        }
+
+        void error(RuntimeException e) {
+            errors.incrementAndGet();
+            synchronized (firstErrors) {
+                String message = String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+                String error = name + ": " + e.getClass().getSimpleName() + ": " + message;
+                if (firstErrors.size() < 3 && !firstErrors.contains(error)) {
+                    firstErrors.add(error);
+                }
+            }
+        }
+
+        List<String> firstErrors() {
+            synchronized (firstErrors) {
+                return new ArrayList<>(firstErrors);
+            }
+        }
+
+        String format(double seconds) {
+            long ok = latencies.count();
+            long failed = errors.get();
+            return String.format(Locale.ROOT, "%-36s %8d %7d %7.2f %8.2f %8.1f %8.1f %8.1f %8.1f%n",
+                    name, ok, failed, ok + failed == 0 ? 0.0 : 100.0 * failed / (ok + failed), ok / seconds,
+                    latencies.percentile(50) / 1000.0, latencies.percentile(90) / 1000.0,
+                    latencies.percentile(99) / 1000.0, latencies.max() / 1000.0);
+        }
+    }
+}
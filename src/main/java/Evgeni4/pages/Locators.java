@@ -0,0 +1,28 @@
+package Evgeni4.pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * Locators shared by the page objects and the load driver's journeys. The page objects stay with the
+ * tests because of the test-only bookkeeping they carry; the locators live here so both sides find the
+ * same elements.
+ */
+public final class Locators {
+    public static final By NAVIGATION_PREVIOUS = By.xpath("//a[text()='Previous']/..");
+    public static final By NAVIGATION_NEXT = By.xpath("//a[text()='Next']/..");
+
+    public static final By DROPDOWN_LEFT_CLICK_MENU = By.cssSelector("#my-dropdown-1 + .dropdown-menu");
+    public static final By DROPDOWN_RIGHT_CLICK_MENU = By.id("context-menu-2");
+    public static final By DROPDOWN_DOUBLE_CLICK_MENU = By.id("context-menu-3");
+
+    public static final By FORM_TEXT = By.cssSelector("[name='my-text']");
+    public static final By FORM_TEXTAREA = By.cssSelector("[name='my-textarea']");
+    public static final By FORM_SELECT = By.cssSelector("[name='my-select']");
+    public static final By FORM_SUBMIT = By.cssSelector("button[type = 'submit'].btn");
+
+    private Locators() { }
+
+    public static By dropdownToggle(int number) {
+        return By.id("my-dropdown-" + number);
+    }
+}
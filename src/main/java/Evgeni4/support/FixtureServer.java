@@ -0,0 +1,133 @@
+package Evgeni4.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the bundled practice pages from {@code src/main/resources/pages}. They are behavioural
+ * reconstructions, not copies of the site: the ids, names, classes and texts the tests use match the
+ * originals, but Bootstrap is replaced by a small stylesheet and a hand-written dropdown toggle, the
+ * web form has no datepicker and drag and drop runs on its own mouse script. {@code gradle remoteTests}
+ * runs the suite against the live site and checks the pages still match it.
+ * One instance is started lazily per JVM; files are read once and then served from memory.
+ * The JDK server's dispatcher thread is not a daemon, so a plain {@code main} has to
+ * {@link #closeShared()} once it is done or the JVM never exits.
+ */
+public final class FixtureServer implements AutoCloseable {
+    private static final String ROOT = "pages/";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "text/javascript; charset=utf-8",
+            "png", "image/png",
+            "jpg", "image/jpeg");
+
+    private static volatile FixtureServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private FixtureServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        executor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static FixtureServer get() {
+        FixtureServer server = instance;
+        if (server == null) {
+            synchronized (FixtureServer.class) {
+                server = instance;
+                if (server == null) {
+                    try {
+                        server = new FixtureServer(Integer.getInteger("fixtures.port", 0));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot start fixture server", e);
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+                    instance = server;
+                }
+            }
+        }
+        return server;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the shared server if one was started; the next {@link #get()} starts a new one.
+     */
+    public static void closeShared() {
+        FixtureServer server = instance;
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (FixtureServer.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        if (closed.compareAndSet(false, true)) {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(1);
+            if (path.isEmpty()) {
+                path = "index.html";
+            }
+            byte[] body = path.contains("..") ? null : files.computeIfAbsent(path, FixtureServer::load);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String extension = path.substring(path.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private static byte[] load(String path) {
+        try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(ROOT + path)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
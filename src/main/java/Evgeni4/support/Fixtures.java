@@ -0,0 +1,28 @@
+package Evgeni4.support;
+
+/**
+ * Resolves practice page URLs. By default pages come from the local {@link FixtureServer}'s
+ * reconstructions of the practice site;
+ * {@code -Dfixtures.baseUrl=remote} (or any URL) points the tests at another origin.
+ */
+public final class Fixtures {
+    public static final String REMOTE_BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java";
+
+    private Fixtures() {
+    }
+
+    public static String baseUrl() {
+        String configured = System.getProperty("fixtures.baseUrl", "").trim();
+        if (configured.isEmpty()) {
+            return FixtureServer.get().baseUrl();
+        }
+        if (configured.equals("remote")) {
+            return REMOTE_BASE_URL;
+        }
+        return configured.endsWith("/") ? configured.substring(0, configured.length() - 1) : configured;
+    }
+
+    public static String url(String page) {
+        return baseUrl() + "/" + page;
+    }
+}
@@ -0,0 +1,140 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Named Chrome launch configurations. The suite default comes from the {@code browser.profile} system
+ * property ({@code -PbrowserProfile=...}); a test class can pin its own with {@code @SeleniumTest(profile = ...)}.
+ */
+public enum LaunchProfile {
+    /**
+     * Headless with everything the form and navigation checks do not look at switched off: GPU,
+     * extensions, images, background networking, component updates and the first-run UI. Background
+     * tabs are not throttled, so {@code TabHost} tabs run at full speed.
+     */
+    HEADLESS_FAST("headless-fast") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.addArguments("--headless=new", WINDOW_SIZE,
+                    "--disable-gpu",
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--disable-features=Translate,OptimizationHints,MediaRouter",
+                    "--no-first-run",
+                    "--no-default-browser-check",
+                    "--mute-audio",
+                    "--disable-background-timer-throttling",
+                    "--disable-renderer-backgrounding",
+                    "--disable-backgrounding-occluded-windows",
+                    "--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+    },
+    /**
+     * Headless Chrome with default settings otherwise.
+     */
+    HEADLESS("headless") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.addArguments("--headless=new", WINDOW_SIZE);
+        }
+    },
+    /**
+     * A normal browser window, as a developer would open it.
+     */
+    HEADED("headed") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.addArguments(WINDOW_SIZE);
+        }
+    },
+    /**
+     * A visible window with DevTools open on every tab, for stepping through a failing test.
+     */
+    HEADED_DEBUG("headed-debug") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.addArguments(WINDOW_SIZE, "--auto-open-devtools-for-tabs");
+        }
+    };
+
+    private static final String WINDOW_SIZE = "--window-size=1366,768";
+
+    /**
+     * Commands go to the local chromedriver through the JDK HTTP client, which blocks in
+     * {@code HttpClient.send} without holding a monitor, so a virtual thread waiting on a command
+     * unmounts from its carrier (see {@link SessionExecutor}). chromedriver only speaks HTTP/1.1;
+     * asking for it directly skips the HTTP/2 upgrade offer on every new connection.
+     */
+    private static final ClientConfig CLIENT = ClientConfig.defaultConfig().version("HTTP_1_1");
+
+    static {
+        if (System.getProperty("webdriver.http.factory") == null) {
+            System.setProperty("webdriver.http.factory", "jdk-http-client");
+        }
+    }
+
+    private final String id;
+
+    LaunchProfile(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        configure(options);
+        return options;
+    }
+
+    abstract void configure(ChromeOptions options);
+
+    /**
+     * A bare Chrome session with this profile's options and no listeners.
+     */
+    public ChromeDriver launch() {
+        return chrome(options());
+    }
+
+    /**
+     * A bare Chrome session with {@code options}, talking to chromedriver with the suite's HTTP client
+     * settings.
+     */
+    public static ChromeDriver chrome(ChromeOptions options) {
+        return new ChromeDriver(ChromeDriverService.createDefaultService(), options, CLIENT);
+    }
+
+    public static LaunchProfile named(String id) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.id.equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown launch profile '" + id + "', expected one of "
+                        + Arrays.toString(Arrays.stream(values()).map(LaunchProfile::id).toArray())));
+    }
+
+    /**
+     * The profile for a test class: the {@code browser.profile} property when set, then the class's
+     * {@code @SeleniumTest(profile = ...)}, then {@link #HEADLESS_FAST}.
+     */
+    public static LaunchProfile resolve(String classProfile) {
+        String configured = System.getProperty("browser.profile", "");
+        if (!configured.isEmpty()) {
+            return named(configured);
+        }
+        return classProfile.isEmpty() ? HEADLESS_FAST : named(classProfile);
+    }
+}
@@ -0,0 +1,100 @@
+package Evgeni4.support;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for work that drives browser sessions, one task per session. WebDriver commands are blocking
+ * HTTP round trips to the driver, so a session spends nearly all its time waiting. With {@link Mode#VIRTUAL}
+ * every task gets its own virtual thread and a waiting session holds no platform thread; with
+ * {@link Mode#FIXED} the tasks share a pool of platform threads. The suite's mode is {@code session.executor}
+ * ({@code -PsessionExecutor}), the pool size {@code session.threads}.
+ * <p>
+ * Virtual threads need Java 21. The build still targets 17, so they are looked up at run time and a
+ * {@code virtual} executor on an older runtime is a fixed pool instead; {@link #effective(Mode)} says which.
+ * Without them the suite's mode defaults to {@code fixed}.
+ */
+public final class SessionExecutor {
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreads();
+
+    public enum Mode {
+        VIRTUAL, FIXED;
+
+        public static Mode named(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown session executor '" + name + "', expected one of "
+                        + Arrays.toString(values()).toLowerCase(Locale.ROOT), e);
+            }
+        }
+    }
+
+    private SessionExecutor() {
+    }
+
+    public static Mode configured() {
+        return Mode.named(System.getProperty("session.executor", virtualThreadsAvailable() ? "virtual" : "fixed"));
+    }
+
+    public static int configuredThreads() {
+        return Integer.getInteger("session.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * The mode {@link #create} really uses for {@code mode} on this runtime.
+     */
+    public static Mode effective(Mode mode) {
+        return mode == Mode.VIRTUAL && !virtualThreadsAvailable() ? Mode.FIXED : mode;
+    }
+
+    public static ExecutorService create() {
+        return create(configured(), configuredThreads());
+    }
+
+    /**
+     * A new executor in {@code mode}; {@code threads} is the pool size of a fixed executor and ignored by
+     * a virtual one. Threads are named {@code session-<n>} and do not keep the JVM alive.
+     */
+    public static ExecutorService create(Mode mode, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (effective(mode) == Mode.VIRTUAL) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, VIRTUAL_THREADS);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread executor", e);
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "session-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@code Thread.ofVirtual().name("session-", 1).factory()} on Java 21, {@code null} before it.
+     */
+    private static ThreadFactory virtualThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> type = Class.forName("java.lang.Thread$Builder");
+            builder = type.getMethod("name", String.class, long.class).invoke(builder, "session-", 1L);
+            return (ThreadFactory) type.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
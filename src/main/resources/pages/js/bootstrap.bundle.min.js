@@ -0,0 +1,22 @@
+/* Hand-written stand-in for Bootstrap 5: only opens and closes the dropdown menus. Kept at the site's path. */
+(function () {
+  function closeAll(except) {
+    document.querySelectorAll('[data-bs-toggle="dropdown"] + .dropdown-menu.show').forEach(function (menu) {
+      if (menu !== except) {
+        menu.classList.remove("show");
+      }
+    });
+  }
+  document.addEventListener("click", function (e) {
+    var toggle = e.target.closest('[data-bs-toggle="dropdown"]');
+    if (!toggle) {
+      closeAll(null);
+      return;
+    }
+    e.preventDefault();
+    var menu = toggle.nextElementSibling;
+    closeAll(menu);
+    menu.classList.toggle("show");
+    toggle.setAttribute("aria-expanded", menu.classList.contains("show"));
+  });
+})();
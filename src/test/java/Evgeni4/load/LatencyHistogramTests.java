@@ -0,0 +1,40 @@
+package Evgeni4.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTests {
+    @Test
+    void bucketsHoldTheirValuesWithinOneSixtyFourth() {
+        for (long value = 0; value < 1L << 62; value = value < 4096 ? value + 1 : value + value / 997) {
+            long highest = LatencyHistogram.highestEquivalent(LatencyHistogram.index(value));
+
+            assertTrue(highest >= value, "value " + value);
+            assertTrue(highest - value <= value / 64, "value " + value + " bucket up to " + highest);
+        }
+        assertEquals(127, LatencyHistogram.highestEquivalent(LatencyHistogram.index(127)));
+    }
+
+    @Test
+    void bucketsFollowEachOther() {
+        for (int index = 1; index < LatencyHistogram.index(Long.MAX_VALUE); index++) {
+            assertEquals(index, LatencyHistogram.index(LatencyHistogram.highestEquivalent(index - 1) + 1), "index " + index);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        assertEquals(50_000, histogram.percentile(50), 50_000 / 64.0);
+        assertEquals(99_000, histogram.percentile(99), 99_000 / 64.0);
+        assertEquals(100_000, histogram.percentile(100));
+        assertEquals(0, new LatencyHistogram().percentile(50));
+    }
+}
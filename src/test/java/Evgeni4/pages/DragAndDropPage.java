@@ -0,0 +1,40 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.Drag;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * {@code drag-and-drop.html}.
+ */
+public class DragAndDropPage extends Page {
+    private static final By DRAGGABLE = By.id("draggable");
+    private static final By TARGET = By.id("target");
+
+    public DragAndDropPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public static DragAndDropPage open(WebDriver driver) {
+        DragAndDropPage page = new DragAndDropPage(driver);
+        page.open("drag-and-drop.html");
+        return page;
+    }
+
+    public WebElement draggable() {
+        return element(DRAGGABLE);
+    }
+
+    public WebElement target() {
+        return element(TARGET);
+    }
+
+    public Drag.Drop dragInto(Drag drag) {
+        return drag.perform(driver, draggable(), target());
+    }
+
+    public boolean draggableInsideTarget() {
+        return Drag.Drop.read(driver, draggable(), target()).inside();
+    }
+}
@@ -0,0 +1,52 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.Waits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import java.util.List;
+
+/**
+ * {@code dropdown-menu.html}: one menu each for left click, right click and double click.
+ */
+public class DropdownMenuPage extends Page {
+    private static final By ITEMS = By.cssSelector("a.dropdown-item");
+
+    public DropdownMenuPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public static DropdownMenuPage open(WebDriver driver) {
+        DropdownMenuPage page = new DropdownMenuPage(driver);
+        page.open("dropdown-menu.html");
+        return page;
+    }
+
+    public WebElement toggle(int number) {
+        return element(Locators.dropdownToggle(number));
+    }
+
+    /**
+     * Left-clicks the first toggle and returns its menu once visible.
+     */
+    public WebElement openLeftClickMenu() {
+        toggle(1).click();
+        return Waits.visible(driver, Locators.DROPDOWN_LEFT_CLICK_MENU);
+    }
+
+    public WebElement openRightClickMenu() {
+        new Actions(driver).contextClick(toggle(2)).perform();
+        return Waits.visible(driver, Locators.DROPDOWN_RIGHT_CLICK_MENU);
+    }
+
+    public WebElement openDoubleClickMenu() {
+        new Actions(driver).doubleClick(toggle(3)).perform();
+        return Waits.visible(driver, Locators.DROPDOWN_DOUBLE_CLICK_MENU);
+    }
+
+    public static List<WebElement> items(WebElement menu) {
+        return menu.findElements(ITEMS);
+    }
+}
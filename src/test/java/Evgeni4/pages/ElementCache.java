@@ -0,0 +1,130 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.NavigationEpoch;
+import Evgeni4.support.Reports;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Element handles of one page object. A locator is resolved with {@code findElement} on first use and
+ * the handle is reused until the session navigates or the handle goes stale.
+ */
+final class ElementCache {
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder NAVIGATION_DROPS = new LongAdder();
+    private static final LongAdder STALE_DROPS = new LongAdder();
+
+    static {
+        Reports.register("element-cache.txt", ElementCache::report);
+    }
+
+    private final WebDriver driver;
+    private final NavigationEpoch epoch;
+    private final Map<By, WebElement> resolved = new HashMap<>();
+    private final Map<By, WebElement> handles = new HashMap<>();
+    private long seenEpoch;
+
+    ElementCache(WebDriver driver) {
+        this.driver = driver;
+        this.epoch = NavigationEpoch.of(driver);
+        this.seenEpoch = epoch.current();
+    }
+
+    /**
+     * A handle for {@code locator} that finds the element on first use rather than now.
+     */
+    WebElement handle(By locator) {
+        return handles.computeIfAbsent(locator, key -> (WebElement) Proxy.newProxyInstance(
+                ElementCache.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new Handler(key)));
+    }
+
+    private WebElement resolve(By locator) {
+        long now = epoch.current();
+        if (now != seenEpoch) {
+            if (!resolved.isEmpty()) {
+                NAVIGATION_DROPS.add(resolved.size());
+                resolved.clear();
+            }
+            seenEpoch = now;
+        }
+        WebElement element = resolved.get(locator);
+        if (element != null) {
+            HITS.increment();
+            return element;
+        }
+        LOOKUPS.increment();
+        element = driver.findElement(locator);
+        resolved.put(locator, element);
+        return element;
+    }
+
+    private void drop(By locator) {
+        if (resolved.remove(locator) != null) {
+            STALE_DROPS.increment();
+        }
+    }
+
+    private static String report() {
+        long hits = HITS.sum();
+        long lookups = LOOKUPS.sum();
+        if (hits + lookups == 0) {
+            return "";
+        }
+        return String.format("page object element handles%n"
+                        + "served from cache: %d%nfindElement lookups: %d%nhit rate: %.1f%%%n"
+                        + "dropped on navigation: %d%ndropped as stale: %d%n",
+                hits, lookups, 100.0 * hits / (hits + lookups), NAVIGATION_DROPS.sum(), STALE_DROPS.sum());
+    }
+
+    private final class Handler implements InvocationHandler {
+        private final By locator;
+
+        Handler(By locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getWrappedElement":
+                    return resolve(locator);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Proxy element for: " + locator;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(resolve(locator), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            drop(locator);
+            try {
+                return method.invoke(resolve(locator), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.Waits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * {@code navigation1.html} to {@code navigation3.html}. The three pages share one layout, so a single
+ * page object follows the pagination across them; its handles are re-resolved after each move.
+ */
+public class NavigationPage extends Page {
+    public static final By PREVIOUS = Locators.NAVIGATION_PREVIOUS;
+    public static final By NEXT = Locators.NAVIGATION_NEXT;
+    public static final By INDEX = By.cssSelector("a[href='index.html']");
+
+    public NavigationPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public static NavigationPage open(WebDriver driver, int number) {
+        NavigationPage page = new NavigationPage(driver);
+        page.open("navigation" + number + ".html");
+        return page;
+    }
+
+    /**
+     * The pagination item, not the link, since the active and disabled classes sit on it.
+     */
+    public WebElement pageItem(int number) {
+        return element(pageItemLocator(number));
+    }
+
+    public static By pageItemLocator(int number) {
+        return By.xpath("//a[text()='" + number + "']/..");
+    }
+
+    public WebElement previousItem() {
+        return element(PREVIOUS);
+    }
+
+    public WebElement nextItem() {
+        return element(NEXT);
+    }
+
+    public NavigationPage goTo(int number) {
+        pageItem(number).click();
+        Waits.urlContains(driver, "navigation" + number + ".html");
+        return this;
+    }
+
+    public NavigationPage previous(int expected) {
+        previousItem().click();
+        Waits.urlContains(driver, "navigation" + expected + ".html");
+        return this;
+    }
+
+    public NavigationPage next(int expected) {
+        nextItem().click();
+        Waits.urlContains(driver, "navigation" + expected + ".html");
+        return this;
+    }
+
+    public void backToIndex() {
+        element(INDEX).click();
+        Waits.urlContains(driver, "index.html");
+    }
+
+    public static boolean hasClass(WebElement element, String cssClass) {
+        return element.getAttribute("class").contains(cssClass);
+    }
+}
@@ -0,0 +1,40 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.Fixtures;
+import Evgeni4.support.ImpactRecorder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Base of the practice-site page objects. Elements are looked up lazily and the handles are kept
+ * for the life of the page; see {@link ElementCache}.
+ */
+public abstract class Page {
+    private static final By HEADING = By.cssSelector("h1.display-6");
+
+    protected final WebDriver driver;
+    private final ElementCache elements;
+
+    protected Page(WebDriver driver) {
+        this.driver = driver;
+        this.elements = new ElementCache(driver);
+        ImpactRecorder.shared().uses(getClass());
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    public WebElement heading() {
+        return element(HEADING);
+    }
+
+    protected WebElement element(By locator) {
+        return elements.handle(locator);
+    }
+
+    protected void open(String page) {
+        driver.get(Fixtures.url(page));
+    }
+}
@@ -0,0 +1,204 @@
+package Evgeni4.pages;
+
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Values for every editable field of {@code web-form.html}, as {@link WebFormPage#fillAndSubmit} applies
+ * them. {@link #defaults()} is the page as served; each {@code with} method returns a copy with one field
+ * changed. A {@code null} select value keeps the placeholder option, a {@code null} file leaves the file
+ * input empty, and {@code radio} is 1 or 2.
+ */
+public final class WebFormData {
+    private static final String[] TEXTS = {"12345", "!@#$%^&*", "abc12345", "тест-12345", "test0-123", "A_b-C.12345", ""};
+    private static final String[] CITIES = {"San Francisco", "New York", "Seattle", "Los Angeles", "Chicago", "Bergen"};
+
+    private final String text;
+    private final String password;
+    private final String textarea;
+    private final String select;
+    private final String datalist;
+    private final Path file;
+    private final boolean check1;
+    private final boolean check2;
+    private final int radio;
+    private final String color;
+    private final String date;
+    private final int range;
+
+    private WebFormData(String text, String password, String textarea, String select, String datalist, Path file,
+                        boolean check1, boolean check2, int radio, String color, String date, int range) {
+        this.text = singleLine("text", text);
+        this.password = singleLine("password", password);
+        this.textarea = textarea.replace("\r", "");
+        this.select = select;
+        this.datalist = singleLine("datalist", datalist);
+        this.file = file;
+        this.check1 = check1;
+        this.check2 = check2;
+        if (radio != 1 && radio != 2) {
+            throw new IllegalArgumentException("radio must be 1 or 2");
+        }
+        this.radio = radio;
+        if (!color.matches("#[0-9a-f]{6}")) {
+            throw new IllegalArgumentException("color must be #rrggbb in lower case: " + color);
+        }
+        this.color = color;
+        this.date = singleLine("date", date);
+        if (range < 0 || range > 10) {
+            throw new IllegalArgumentException("range must be between 0 and 10");
+        }
+        this.range = range;
+    }
+
+    public static WebFormData defaults() {
+        return new WebFormData("", "", "", null, "", null, true, false, 1, "#563d7c", "", 5);
+    }
+
+    /**
+     * A record with every field drawn from {@code random}: the strings the field tests use, multi-line
+     * text, each select option, cities in and outside the datalist, any checkbox and radio combination.
+     */
+    public static WebFormData generate(Random random, Path file) {
+        String[] options = {null, "1", "2", "3"};
+        return new WebFormData(
+                pick(random, TEXTS),
+                pick(random, TEXTS),
+                pick(random, TEXTS) + (random.nextBoolean() ? "\n" + pick(random, TEXTS) : ""),
+                options[random.nextInt(options.length)],
+                pick(random, CITIES),
+                random.nextBoolean() ? file : null,
+                random.nextBoolean(),
+                random.nextBoolean(),
+                1 + random.nextInt(2),
+                String.format("#%06x", random.nextInt(1 << 24)),
+                String.format("%02d/%02d/%d", 1 + random.nextInt(12), 1 + random.nextInt(28), 2000 + random.nextInt(30)),
+                random.nextInt(11));
+    }
+
+    public WebFormData withText(String text) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withPassword(String password) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withTextarea(String textarea) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withSelect(String select) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withDatalist(String datalist) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withFile(Path file) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withChecks(boolean check1, boolean check2) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withRadio(int radio) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withColor(String color) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withDate(String date) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    public WebFormData withRange(int range) {
+        return new WebFormData(text, password, textarea, select, datalist, file, check1, check2, radio, color, date, range);
+    }
+
+    /**
+     * The fields typed with the keyboard, by name, in the order they are typed.
+     */
+    Map<String, String> typed() {
+        Map<String, String> typed = new LinkedHashMap<>();
+        typed.put("my-text", text);
+        typed.put("my-password", password);
+        typed.put("my-textarea", textarea);
+        typed.put("my-datalist", datalist);
+        typed.put("my-date", date);
+        return typed;
+    }
+
+    /**
+     * The fields set by script, as the argument of {@link WebFormPage}'s fill script.
+     */
+    Map<String, Object> scripted() {
+        return Map.of(
+                "select", select == null ? "" : select,
+                "check1", check1,
+                "check2", check2,
+                "radio", "my-radio-" + radio,
+                "color", color,
+                "range", String.valueOf(range));
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * The query string the browser sends for these values, as name and value pairs in document order.
+     * Line breaks in the textarea are sent as CRLF.
+     */
+    public List<Map.Entry<String, String>> expectedQuery() {
+        List<Map.Entry<String, String>> query = new ArrayList<>();
+        add(query, "my-text", text);
+        add(query, "my-password", password);
+        add(query, "my-textarea", textarea.replace("\n", "\r\n"));
+        add(query, "my-readonly", "Readonly input");
+        add(query, "my-select", select == null ? "Open this select menu" : select);
+        add(query, "my-datalist", datalist);
+        add(query, "my-file", file == null ? "" : file.getFileName().toString());
+        if (check1) {
+            add(query, "my-check", "on");
+        }
+        if (check2) {
+            add(query, "my-check", "on");
+        }
+        add(query, "my-radio", "on");
+        add(query, "my-colors", color);
+        add(query, "my-date", date);
+        add(query, "my-range", String.valueOf(range));
+        add(query, "my-hidden", "");
+        return query;
+    }
+
+    private static void add(List<Map.Entry<String, String>> query, String name, String value) {
+        query.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+    }
+
+    private static String singleLine(String field, String value) {
+        if (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException(field + " is a single-line input; a line break would submit the form");
+        }
+        return value;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @Override
+    public String toString() {
+        return "WebFormData" + expectedQuery();
+    }
+}
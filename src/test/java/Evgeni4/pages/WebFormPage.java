@@ -0,0 +1,286 @@
+package Evgeni4.pages;
+
+import Evgeni4.support.ElementState;
+import Evgeni4.support.ImpactRecorder;
+import Evgeni4.support.InputRoundTrip;
+import Evgeni4.support.RangeInput;
+import Evgeni4.support.Reports;
+import Evgeni4.support.Waits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code web-form.html}.
+ */
+public class WebFormPage extends Page {
+    public static final By TEXT = Locators.FORM_TEXT;
+    public static final By PASSWORD = By.cssSelector("[name='my-password']");
+    public static final By TEXTAREA = Locators.FORM_TEXTAREA;
+    public static final By DISABLED = By.cssSelector("[name='my-disabled']");
+    public static final By READONLY = By.cssSelector("[name='my-readonly']");
+    public static final By SELECT = Locators.FORM_SELECT;
+    public static final By SELECT_OPTIONS = By.cssSelector("[name='my-select'] option");
+    public static final By DATALIST_INPUT = By.cssSelector("[name='my-datalist']");
+    public static final By DATALIST_OPTIONS = By.cssSelector("datalist#my-options option");
+    public static final By FILE = By.cssSelector("[name='my-file']");
+    public static final By CHECKBOXES = By.cssSelector(".form-check-input[type='checkbox']");
+    public static final By CHECKED_CHECKBOX = By.id("my-check-1");
+    public static final By DEFAULT_CHECKBOX = By.id("my-check-2");
+    public static final By RADIOS = By.cssSelector("#my-radio-1, #my-radio-2");
+    public static final By CHECKED_RADIO = By.id("my-radio-1");
+    public static final By DEFAULT_RADIO = By.id("my-radio-2");
+    public static final By CHECKED_RADIO_LABEL = By.xpath("//input[@id='my-radio-1']/ancestor::label[1]");
+    public static final By DEFAULT_RADIO_LABEL = By.xpath("//input[@id='my-radio-2']/ancestor::label[1]");
+    public static final By SUBMIT = Locators.FORM_SUBMIT;
+    public static final By COLOR = By.cssSelector("[name='my-colors']");
+    public static final By DATE = By.cssSelector(".form-control[name='my-date']");
+    public static final By RANGE = By.cssSelector("[name='my-range']");
+    public static final By RANGE_LABEL = By.xpath("//input[@name='my-range']/ancestor::label[1]");
+
+    /**
+     * Sets the fields that are not typed, clears the typed ones, and returns the typed fields followed
+     * by the submit button.
+     */
+    private static final String FILL =
+            "var form = document.querySelector('form'), v = arguments[0], typed = arguments[1], at = arguments[2];"
+                    + "function find(key) {"
+                    + "  var using = at[key][0], value = at[key][1];"
+                    + "  return using === 'id' ? document.getElementById(value) : document.querySelector(value);"
+                    + "}"
+                    + "function set(el, prop, value) {"
+                    + "  el[prop] = value;"
+                    + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+                    + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+                    + "}"
+                    + "var select = find('select');"
+                    + "if (v.select === '') { set(select, 'selectedIndex', 0); } else { set(select, 'value', v.select); }"
+                    + "set(find('check1'), 'checked', v.check1);"
+                    + "set(find('check2'), 'checked', v.check2);"
+                    + "set(document.getElementById(v.radio), 'checked', true);"
+                    + "set(find('color'), 'value', v.color);"
+                    + "set(find('range'), 'value', v.range);"
+                    + "var out = typed.map(function (name) { var el = form.elements[name]; el.value = ''; return el; });"
+                    + "out.push(find('submit'));"
+                    + "return out;";
+
+    /**
+     * The locators {@link #FILL} resolves in the page (ids or CSS), passed in so editing one of the
+     * constants changes what the script fills and shows up in the impact index.
+     */
+    private static final Map<String, By> FILL_LOCATORS = Map.of(
+            "select", SELECT, "check1", CHECKED_CHECKBOX, "check2", DEFAULT_CHECKBOX,
+            "color", COLOR, "range", RANGE, "submit", SUBMIT);
+
+    private static final String SUBMITTED =
+            "return [document.querySelector('h1.display-6').textContent, Array.from(new URLSearchParams(location.search))];";
+
+    private static final AtomicLong FORMS = new AtomicLong();
+    private static final AtomicLong FORM_NANOS = new AtomicLong();
+
+    static {
+        Reports.register("forms.txt", WebFormPage::formReport);
+    }
+
+    public WebFormPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public static WebFormPage open(WebDriver driver) {
+        WebFormPage page = new WebFormPage(driver);
+        page.open("web-form.html");
+        return page;
+    }
+
+    public WebElement textInput() {
+        return element(TEXT);
+    }
+
+    public WebElement passwordInput() {
+        return element(PASSWORD);
+    }
+
+    public WebElement textarea() {
+        return element(TEXTAREA);
+    }
+
+    public WebElement disabledInput() {
+        return element(DISABLED);
+    }
+
+    public WebElement readonlyInput() {
+        return element(READONLY);
+    }
+
+    public Select select() {
+        return new Select(element(SELECT));
+    }
+
+    public WebElement datalistInput() {
+        return element(DATALIST_INPUT);
+    }
+
+    public WebElement fileInput() {
+        return element(FILE);
+    }
+
+    public WebElement checkedCheckbox() {
+        return element(CHECKED_CHECKBOX);
+    }
+
+    public WebElement defaultCheckbox() {
+        return element(DEFAULT_CHECKBOX);
+    }
+
+    public WebElement checkedRadio() {
+        return element(CHECKED_RADIO);
+    }
+
+    public WebElement defaultRadio() {
+        return element(DEFAULT_RADIO);
+    }
+
+    public WebElement checkedRadioLabel() {
+        return element(CHECKED_RADIO_LABEL);
+    }
+
+    public WebElement defaultRadioLabel() {
+        return element(DEFAULT_RADIO_LABEL);
+    }
+
+    public WebElement submitButton() {
+        return element(SUBMIT);
+    }
+
+    public WebElement colorInput() {
+        return element(COLOR);
+    }
+
+    public WebElement dateInput() {
+        return element(DATE);
+    }
+
+    public WebElement range() {
+        return element(RANGE);
+    }
+
+    public WebElement rangeLabel() {
+        return element(RANGE_LABEL);
+    }
+
+    public RangeInput rangeInput() {
+        return new RangeInput(driver, range());
+    }
+
+    /**
+     * Round trips generated input through the text field named {@code name}; line breaks are only kept
+     * in the textarea.
+     */
+    public InputRoundTrip roundTrip(String name) {
+        return new InputRoundTrip(driver, element(By.cssSelector("[name='" + name + "']")), name.equals("my-textarea"));
+    }
+
+    /**
+     * Reads {@code properties} of every element matching {@code locator} in one round trip.
+     */
+    public List<ElementState> states(By locator, String... properties) {
+        return ElementState.readAll(driver, locator, properties);
+    }
+
+    public ElementState state(By locator, String... properties) {
+        return ElementState.read(driver, locator, properties);
+    }
+
+    /**
+     * Submits the form and waits for the confirmation page.
+     */
+    public void submit() {
+        submitButton().click();
+        Waits.urlContains(driver, "submitted-form.html");
+    }
+
+    /**
+     * Fills every field from {@code data}, submits, and returns what the confirmation page received.
+     * One script sets the select, checkboxes, radio, color and range and hands back the typed fields; a
+     * chosen file is one {@code sendKeys}; typing every text field and clicking Submit is one
+     * {@code Actions} chain; one script reads the result page.
+     */
+    public SubmittedForm fillAndSubmit(WebFormData data) {
+        long start = System.nanoTime();
+        Map<String, String> typed = data.typed();
+        Map<String, List<String>> locators = new HashMap<>();
+        FILL_LOCATORS.forEach((key, locator) -> {
+            ImpactRecorder.shared().locator(locator);
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            locators.put(key, List.of(parameters.using(), String.valueOf(parameters.value())));
+        });
+        @SuppressWarnings("unchecked")
+        List<WebElement> elements = (List<WebElement>) ((JavascriptExecutor) driver)
+                .executeScript(FILL, data.scripted(), new ArrayList<>(typed.keySet()), locators);
+        if (data.file() != null) {
+            fileInput().sendKeys(data.file().toAbsolutePath().toString());
+        }
+        Actions actions = new Actions(driver);
+        int index = 0;
+        for (String value : typed.values()) {
+            WebElement field = elements.get(index++);
+            if (!value.isEmpty()) {
+                actions.click(field).sendKeys(value);
+            }
+        }
+        actions.click(elements.get(index)).perform();
+        Waits.urlContains(driver, "submitted-form.html");
+
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(SUBMITTED);
+        List<Map.Entry<String, String>> query = new ArrayList<>();
+        for (Object pair : (List<?>) result.get(1)) {
+            List<?> entry = (List<?>) pair;
+            query.add(new AbstractMap.SimpleImmutableEntry<>((String) entry.get(0), (String) entry.get(1)));
+        }
+        FORM_NANOS.addAndGet(System.nanoTime() - start);
+        FORMS.incrementAndGet();
+        return new SubmittedForm(((String) result.get(0)).trim(), query);
+    }
+
+    private static String formReport() {
+        long forms = FORMS.get();
+        if (forms == 0) {
+            return "";
+        }
+        double seconds = FORM_NANOS.get() / 1e9;
+        return String.format("forms=%d fill+submit=%.1f s avg=%.1f ms rate=%.2f forms/s per session%n",
+                forms, seconds, seconds * 1000 / forms, forms / seconds);
+    }
+
+    /**
+     * The confirmation page after a submit: its heading and the query string, as name and value pairs in
+     * the order the browser sent them.
+     */
+    public static final class SubmittedForm {
+        private final String heading;
+        private final List<Map.Entry<String, String>> query;
+
+        SubmittedForm(String heading, List<Map.Entry<String, String>> query) {
+            this.heading = heading;
+            this.query = query;
+        }
+
+        public String heading() {
+            return heading;
+        }
+
+        public List<Map.Entry<String, String>> query() {
+            return query;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package Evgeni4.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Static assets fetched by any session in this JVM, kept in memory for {@link AssetInterceptor} and
+ * evicted least recently used first once they take more than {@code network.cacheBytes}. The size and
+ * fetch time of every asset seen are kept after eviction, so blocked requests can be costed too.
+ */
+public final class AssetCache {
+    private static final AssetCache SHARED = new AssetCache(Long.getLong("network.cacheBytes", 32L << 20));
+
+    private final long maxBytes;
+    private final Map<String, Asset> assets = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Cost> costs = new LinkedHashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AssetCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public static AssetCache shared() {
+        return SHARED;
+    }
+
+    public synchronized Asset get(String url) {
+        Asset asset = assets.get(url);
+        if (asset == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return asset;
+    }
+
+    public synchronized void put(String url, Asset asset) {
+        costs.put(url, new Cost(asset.body.length, asset.fetchNanos));
+        if (asset.body.length > maxBytes) {
+            return;
+        }
+        Asset previous = assets.put(url, asset);
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+        bytes += asset.body.length;
+        Iterator<Map.Entry<String, Asset>> eldest = assets.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().body.length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * What fetching {@code url} cost when it was last fetched, or {@code null} if no session fetched it.
+     */
+    public synchronized Cost cost(String url) {
+        return costs.get(url);
+    }
+
+    public synchronized String report() {
+        return String.format("asset cache: entries=%d bytes=%d/%d hits=%d misses=%d evictions=%d%n",
+                assets.size(), bytes, maxBytes, hits.get(), misses.get(), evictions.get());
+    }
+
+    public static final class Asset {
+        final int status;
+        final String contentType;
+        final byte[] body;
+        final long fetchNanos;
+
+        public Asset(int status, String contentType, byte[] body, long fetchNanos) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.fetchNanos = fetchNanos;
+        }
+    }
+
+    public static final class Cost {
+        final long bytes;
+        final long nanos;
+
+        Cost(long bytes, long nanos) {
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+    }
+}
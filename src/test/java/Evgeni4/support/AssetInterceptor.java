@@ -0,0 +1,259 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Intercepts a session's requests through DevTools for classes that set {@link SeleniumTest#block()} or
+ * {@link SeleniumTest#cacheAssets()}. Blocked resource types get an empty response without touching the
+ * network; static assets are served from the JVM-wide {@link AssetCache}, so a fresh session does not
+ * download Bootstrap again. Savings are counted per navigation and written to {@code network-savings.txt}.
+ * <p>
+ * Resource types are told apart by file extension; a request without one, or for an HTML file, starts a
+ * navigation. Tabs of a shared browser are not intercepted: a class whose settings are dropped because it
+ * runs as tabs gets a warning and a line in the report.
+ */
+public final class AssetInterceptor implements Filter {
+    private static final Map<String, Savings> SAVINGS = new ConcurrentSkipListMap<>();
+    private static final Set<String> SKIPPED_AS_TABS = new ConcurrentSkipListSet<>();
+
+    static {
+        Reports.register("network-savings.txt", AssetInterceptor::report);
+    }
+
+    enum ResourceType {
+        DOCUMENT, STYLESHEET, SCRIPT, IMAGE, FONT, MEDIA;
+
+        static ResourceType of(String url) {
+            String path = URI.create(url).getPath();
+            String extension = path == null || path.lastIndexOf('.') < path.lastIndexOf('/') + 1 ? ""
+                    : path.substring(path.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            switch (extension) {
+                case "css":
+                    return STYLESHEET;
+                case "js":
+                case "mjs":
+                    return SCRIPT;
+                case "png":
+                case "jpg":
+                case "jpeg":
+                case "gif":
+                case "svg":
+                case "webp":
+                case "ico":
+                    return IMAGE;
+                case "woff":
+                case "woff2":
+                case "ttf":
+                case "otf":
+                    return FONT;
+                case "mp3":
+                case "mp4":
+                case "webm":
+                case "ogg":
+                    return MEDIA;
+                default:
+                    return DOCUMENT;
+            }
+        }
+
+        static ResourceType named(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown resource type '" + name + "', expected one of "
+                        + Arrays.toString(values()).toLowerCase(Locale.ROOT), e);
+            }
+        }
+    }
+
+    private final String owner;
+    private final Set<ResourceType> blocked;
+    private final boolean cache;
+    private Navigation navigation;
+
+    private AssetInterceptor(String owner, Set<ResourceType> blocked, boolean cache) {
+        this.owner = owner;
+        this.blocked = blocked;
+        this.cache = cache;
+    }
+
+    /**
+     * Intercepts {@code lease}'s requests as {@code test} configures, until the lease is released. Leases
+     * of classes without network settings, and drivers without DevTools, are returned as they are.
+     */
+    static Lease attach(Lease lease, Class<?> test, SeleniumTest settings) {
+        WebDriver driver = lease.driver();
+        if (settings.block().length == 0 && !settings.cacheAssets() || !(driver instanceof HasDevTools)) {
+            return lease;
+        }
+        Set<ResourceType> blocked = EnumSet.noneOf(ResourceType.class);
+        for (String type : settings.block()) {
+            blocked.add(ResourceType.named(type));
+        }
+        AssetInterceptor filter = new AssetInterceptor(test.getSimpleName(), blocked, settings.cacheAssets());
+        NetworkInterceptor interceptor = new NetworkInterceptor(driver, filter);
+        return new Lease() {
+            @Override
+            public WebDriver driver() {
+                return driver;
+            }
+
+            @Override
+            public void release(boolean failed) {
+                filter.navigated(null);
+                boolean broken = failed;
+                try {
+                    interceptor.close();
+                } catch (RuntimeException e) {
+                    broken = true;
+                }
+                lease.release(broken);
+            }
+        };
+    }
+
+    /**
+     * Notes that {@code test}'s network settings do not apply because its session is a tab.
+     */
+    static void skippedAsTab(Class<?> test, SeleniumTest settings) {
+        if ((settings.block().length > 0 || settings.cacheAssets()) && SKIPPED_AS_TABS.add(test.getSimpleName())) {
+            System.err.println(test.getSimpleName() + " runs as tabs of a shared browser; its block and cacheAssets"
+                    + " settings do not apply");
+        }
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            String url = request.getUri();
+            ResourceType type = ResourceType.of(url);
+            if (type == ResourceType.DOCUMENT) {
+                navigated(url);
+                return next.execute(request);
+            }
+            if (blocked.contains(type)) {
+                blocked(AssetCache.shared().cost(url));
+                return new HttpResponse().setStatus(204);
+            }
+            if (!cache || request.getMethod() != HttpMethod.GET) {
+                return next.execute(request);
+            }
+            AssetCache.Asset cached = AssetCache.shared().get(url);
+            if (cached != null) {
+                served(cached);
+                HttpResponse response = new HttpResponse().setStatus(cached.status);
+                if (cached.contentType != null) {
+                    response.setHeader("Content-Type", cached.contentType);
+                }
+                return response.setContent(Contents.bytes(cached.body));
+            }
+            return fetch(next, request, url);
+        };
+    }
+
+    private HttpResponse fetch(HttpHandler next, HttpRequest request, String url) {
+        long start = System.nanoTime();
+        HttpResponse response = next.execute(request);
+        long nanos = System.nanoTime() - start;
+        String cacheControl = response.getHeader("Cache-Control");
+        if (response.getStatus() == 200 && (cacheControl == null || !cacheControl.contains("no-store"))) {
+            byte[] body = Contents.bytes(response.getContent());
+            AssetCache.shared().put(url, new AssetCache.Asset(200, response.getHeader("Content-Type"), body, nanos));
+            response.setContent(Contents.bytes(body));
+        }
+        return response;
+    }
+
+    private synchronized void navigated(String url) {
+        if (navigation != null) {
+            SAVINGS.computeIfAbsent(owner + " " + navigation.page, key -> new Savings()).add(navigation);
+        }
+        navigation = url == null ? null : new Navigation(URI.create(url).getPath());
+    }
+
+    private synchronized void blocked(AssetCache.Cost cost) {
+        if (navigation != null) {
+            navigation.blocked++;
+            if (cost != null) {
+                navigation.bytes += cost.bytes;
+                navigation.nanos += cost.nanos;
+            }
+        }
+    }
+
+    private synchronized void served(AssetCache.Asset asset) {
+        if (navigation != null) {
+            navigation.cached++;
+            navigation.bytes += asset.body.length;
+            navigation.nanos += asset.fetchNanos;
+        }
+    }
+
+    private static String report() {
+        StringBuilder report = new StringBuilder();
+        if (!SKIPPED_AS_TABS.isEmpty()) {
+            report.append("not intercepted, ran as tabs of a shared browser: ")
+                    .append(String.join(", ", SKIPPED_AS_TABS)).append(System.lineSeparator());
+        }
+        if (SAVINGS.isEmpty()) {
+            return report.toString();
+        }
+        report.append("saved per navigation, averaged; blocked assets no session fetched count as zero bytes\n");
+        report.append(String.format("%-42s %6s %8s %8s %9s %8s%n",
+                "class page", "navs", "cached", "blocked", "KB saved", "ms saved"));
+        SAVINGS.forEach((key, savings) -> report.append(savings.format(key)));
+        report.append(AssetCache.shared().report());
+        return report.toString();
+    }
+
+    private static final class Navigation {
+        final String page;
+        int cached;
+        int blocked;
+        long bytes;
+        long nanos;
+
+        Navigation(String page) {
+            this.page = page;
+        }
+    }
+
+    private static final class Savings {
+        private long navigations;
+        private long cached;
+        private long blocked;
+        private long bytes;
+        private long nanos;
+
+        synchronized void add(Navigation navigation) {
+            navigations++;
+            cached += navigation.cached;
+            blocked += navigation.blocked;
+            bytes += navigation.bytes;
+            nanos += navigation.nanos;
+        }
+
+        synchronized String format(String key) {
+            return String.format("%-42s %6d %8.1f %8.1f %9.1f %8.1f%n", key, navigations,
+                    (double) cached / navigations, (double) blocked / navigations,
+                    bytes / 1024.0 / navigations, nanos / 1e6 / navigations);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package Evgeni4.support;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory of the Chrome processes this JVM started, sampled as each browser test finishes and divided by
+ * the browser tests running at that moment, plus their throughput over the run. Tests that never lease
+ * a session are not counted. The report is named after the execution mode ({@code tabs} or
+ * {@code processes}); when the other mode's report from an earlier run is still there, the two are
+ * compared. Sampling walks the process tree, so it only runs in tab mode or when
+ * {@code footprint.compare} ({@code -PfootprintCompare}) asks for the processes side of the comparison.
+ * <p>
+ * Memory is the proportional set size from {@code /proc}, so pages Chrome processes share are not
+ * counted twice. On systems without {@code /proc} memory reads as zero.
+ */
+public final class BrowserFootprint {
+    private static final String MODE = TabHost.shared().enabled() ? "tabs" : "processes";
+    static final boolean ENABLED = TabHost.shared().enabled() || Boolean.getBoolean("footprint.compare");
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+    private static final LongAdder TESTS = new LongAdder();
+    private static final LongAdder BYTES_PER_TEST = new LongAdder();
+    private static final AtomicLong PEAK_BYTES = new AtomicLong();
+    private static final AtomicLong FIRST_START = new AtomicLong(Long.MAX_VALUE);
+    private static final AtomicLong LAST_END = new AtomicLong(Long.MIN_VALUE);
+
+    static {
+        Reports.register("browser-footprint-" + MODE + ".txt", BrowserFootprint::report);
+    }
+
+    private BrowserFootprint() {
+    }
+
+    static void testStarted() {
+        ACTIVE.incrementAndGet();
+        FIRST_START.accumulateAndGet(System.nanoTime(), Math::min);
+    }
+
+    static void testFinished() {
+        long bytes = browserBytes();
+        int active = ACTIVE.getAndDecrement();
+        TESTS.increment();
+        BYTES_PER_TEST.add(bytes / Math.max(1, active));
+        PEAK_BYTES.accumulateAndGet(bytes, Math::max);
+        LAST_END.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    static long browserBytes() {
+        return ProcessHandle.current().descendants()
+                .filter(process -> process.info().command().map(command -> command.contains("chrom")).orElse(false))
+                .mapToLong(BrowserFootprint::proportionalBytes)
+                .sum();
+    }
+
+    private static long proportionalBytes(ProcessHandle process) {
+        Path proc = Path.of("/proc", Long.toString(process.pid()));
+        long kb = kilobytes(proc.resolve("smaps_rollup"), "Pss:");
+        return 1024 * (kb >= 0 ? kb : Math.max(0, kilobytes(proc.resolve("status"), "VmRSS:")));
+    }
+
+    private static long kilobytes(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the process exited or /proc is not available
+        }
+        return -1;
+    }
+
+    private static String report() {
+        long tests = TESTS.sum();
+        if (tests == 0) {
+            return "";
+        }
+        double minutes = Math.max(1, LAST_END.get() - FIRST_START.get()) / 6e10;
+        double mbPerTest = BYTES_PER_TEST.sum() / 1048576.0 / tests;
+        double testsPerMinute = tests / minutes;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "mode=%s tests=%d mbPerTest=%.1f peakMb=%.1f testsPerMinute=%.1f%n",
+                MODE, tests, mbPerTest, PEAK_BYTES.get() / 1048576.0, testsPerMinute));
+        report.append(String.format("browser memory per running test: %.1f MB (peak total %.1f MB)%n",
+                mbPerTest, PEAK_BYTES.get() / 1048576.0));
+        report.append(String.format("throughput: %.1f tests/min over %.1f s%n", testsPerMinute, minutes * 60));
+
+        String other = MODE.equals("tabs") ? "processes" : "tabs";
+        Reports.read("browser-footprint-" + other + ".txt").ifPresent(previous -> {
+            Map<String, String> values = summary(previous);
+            double otherMb = Double.parseDouble(values.getOrDefault("mbPerTest", "0"));
+            double otherRate = Double.parseDouble(values.getOrDefault("testsPerMinute", "0"));
+            if (otherMb > 0 && otherRate > 0) {
+                report.append(String.format("compared with %s (earlier run): memory per test x%.2f, throughput x%.2f%n",
+                        other, mbPerTest / otherMb, testsPerMinute / otherRate));
+            }
+        });
+        return report.toString();
+    }
+
+    private static Map<String, String> summary(String report) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : List.of(report.lines().findFirst().orElse("").split(" "))) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,378 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the duration of every WebDriver command into preallocated arrays: a ring buffer of the
+ * most recent commands, a log-scale latency histogram per command type and per-test time totals by
+ * category. Nothing is allocated per command once a command type, locator and test have been seen.
+ * <p>
+ * Ring slots are written by several worker threads. Each slot carries a stamp: a writer claims the
+ * slot by marking it busy, fills the fields and then publishes the command's sequence number. The report
+ * only reads a slot whose stamp is the same before and after the read, so it never sees half an entry.
+ */
+public final class CommandRecorder implements WebDriverListener {
+    public enum Category {
+        SESSION_START, NAVIGATION, LOOKUP, INTERACTION, WAIT, OTHER
+    }
+
+    private static final int MAX_COMMANDS = 256;
+    private static final int MAX_TESTS = 8192;
+    private static final int MAX_LOCATORS = 8192;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 40 * SUB_BUCKETS;
+    private static final Category[] CATEGORY_VALUES = Category.values();
+    private static final int CATEGORIES = CATEGORY_VALUES.length;
+    // after the sizes above, which the constructor reads
+    private static final CommandRecorder SHARED = new CommandRecorder(1 << 16);
+
+    private final int mask;
+    private final AtomicLongArray ringStamps;
+    private final AtomicLongArray ringNanos;
+    private final AtomicIntegerArray ringCommand;
+    private final AtomicIntegerArray ringTest;
+    private final AtomicIntegerArray ringLocator;
+    private final AtomicLong ringIndex = new AtomicLong();
+
+    private final Map<Method, Integer> driverCommands = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> elementCommands = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> commandNames = new AtomicReferenceArray<>(MAX_COMMANDS);
+    private final int[] commandCategory = new int[MAX_COMMANDS];
+    private final AtomicInteger commandCount = new AtomicInteger();
+    private final AtomicLongArray histograms = new AtomicLongArray(MAX_COMMANDS * BUCKETS);
+    private final AtomicLongArray commandTotals = new AtomicLongArray(MAX_COMMANDS);
+
+    private final Map<String, Integer> tests = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> testNames = new AtomicReferenceArray<>(MAX_TESTS);
+    private final AtomicInteger testCount = new AtomicInteger();
+    private final AtomicLongArray testCategoryNanos = new AtomicLongArray(MAX_TESTS * CATEGORIES);
+    private final AtomicLongArray testWallNanos = new AtomicLongArray(MAX_TESTS);
+
+    private final Map<String, Integer> locators = new ConcurrentHashMap<>();
+    // By hashes its toString(), so locators seen before are looked up by identity instead
+    private final Map<By, Integer> locatorInstances = new IdentityHashMap<>();
+    private final AtomicReferenceArray<String> locatorNames = new AtomicReferenceArray<>(MAX_LOCATORS);
+    private final AtomicInteger locatorCount = new AtomicInteger();
+
+    private final ThreadLocal<CallStack> calls = ThreadLocal.withInitial(CallStack::new);
+
+    private CommandRecorder(int ringSize) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        mask = ringSize - 1;
+        ringStamps = new AtomicLongArray(ringSize);
+        ringNanos = new AtomicLongArray(ringSize);
+        ringCommand = new AtomicIntegerArray(ringSize);
+        ringTest = new AtomicIntegerArray(ringSize);
+        ringLocator = new AtomicIntegerArray(ringSize);
+        Reports.register("command-timings.txt", this::report);
+    }
+
+    public static CommandRecorder shared() {
+        return SHARED;
+    }
+
+    public void startTest(String testId) {
+        CallStack stack = calls.get();
+        stack.test = tests.computeIfAbsent(testId, this::newTest);
+        stack.testStart = System.nanoTime();
+    }
+
+    public void endTest() {
+        CallStack stack = calls.get();
+        if (stack.test >= 0) {
+            testWallNanos.addAndGet(stack.test, System.nanoTime() - stack.testStart);
+        }
+        stack.test = -1;
+    }
+
+    public void recordSessionStart(long nanos) {
+        addToTest(calls.get(), Category.SESSION_START, nanos);
+    }
+
+    /**
+     * Marks the start of a wait; commands issued until {@link #exitWait} count towards the wait, not their own category.
+     */
+    public void enterWait() {
+        calls.get().waitDepth++;
+    }
+
+    public void exitWait(long nanos) {
+        CallStack stack = calls.get();
+        stack.waitDepth--;
+        addToTest(stack, Category.WAIT, nanos);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        CallStack stack = calls.get();
+        if (stack.depth < stack.starts.length) {
+            stack.starts[stack.depth] = System.nanoTime();
+            stack.locators[stack.depth] = args != null && args.length > 0 && args[0] instanceof By
+                    ? locatorId((By) args[0]) : -1;
+        }
+        stack.depth++;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        complete(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        complete(target, method);
+    }
+
+    private void complete(Object target, Method method) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        long end = System.nanoTime();
+        CallStack stack = calls.get();
+        stack.depth--;
+        if (stack.depth >= stack.starts.length || stack.depth < 0) {
+            stack.depth = Math.max(stack.depth, 0);
+            return;
+        }
+        long nanos = end - stack.starts[stack.depth];
+        int command = commandId(target, method);
+        if (command < 0) {
+            return;
+        }
+
+        long index = ringIndex.getAndIncrement();
+        int slot = (int) (index & mask);
+        long previous = ringStamps.get(slot);
+        // stamps are sequence + 1, 0 while empty and -1 while being written; a writer lapped by the ring skips its entry
+        if (previous >= 0 && previous <= index && ringStamps.compareAndSet(slot, previous, -1)) {
+            ringNanos.set(slot, nanos);
+            ringCommand.set(slot, command);
+            ringTest.set(slot, stack.test);
+            ringLocator.set(slot, stack.locators[stack.depth]);
+            ringStamps.set(slot, index + 1);
+        }
+
+        histograms.incrementAndGet(command * BUCKETS + bucket(nanos));
+        commandTotals.addAndGet(command, nanos);
+        if (stack.depth == 0 && stack.waitDepth == 0) {
+            addToTest(stack, CATEGORY_VALUES[commandCategory[command]], nanos);
+        }
+    }
+
+    private void addToTest(CallStack stack, Category category, long nanos) {
+        if (stack.test >= 0) {
+            testCategoryNanos.addAndGet(stack.test * CATEGORIES + category.ordinal(), nanos);
+        }
+    }
+
+    private int commandId(Object target, Method method) {
+        boolean element = target instanceof WebElement;
+        Map<Method, Integer> ids = element ? elementCommands : driverCommands;
+        Integer id = ids.get(method);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(method, m -> {
+            int next = commandCount.getAndIncrement();
+            if (next >= MAX_COMMANDS) {
+                return -1;
+            }
+            String owner = element ? "WebElement" : target instanceof WebDriver ? "WebDriver"
+                    : m.getDeclaringClass().getSimpleName();
+            commandNames.set(next, owner + "." + m.getName());
+            commandCategory[next] = categoryOf(m.getName()).ordinal();
+            return next;
+        });
+    }
+
+    private int locatorId(By by) {
+        synchronized (locatorInstances) {
+            Integer id = locatorInstances.get(by);
+            if (id != null) {
+                return id;
+            }
+        }
+        int id = locators.computeIfAbsent(by.toString(), k -> {
+            int next = locatorCount.getAndIncrement();
+            if (next >= MAX_LOCATORS) {
+                return -1;
+            }
+            locatorNames.set(next, k);
+            return next;
+        });
+        synchronized (locatorInstances) {
+            // locators built per call are new instances every time; stop remembering them at the cap
+            if (locatorInstances.size() < MAX_LOCATORS) {
+                locatorInstances.put(by, id);
+            }
+        }
+        return id;
+    }
+
+    private int newTest(String testId) {
+        int next = testCount.getAndIncrement();
+        if (next >= MAX_TESTS) {
+            return -1;
+        }
+        testNames.set(next, testId);
+        return next;
+    }
+
+    static Category categoryOf(String methodName) {
+        switch (methodName) {
+            case "get":
+            case "to":
+            case "back":
+            case "forward":
+            case "refresh":
+                return Category.NAVIGATION;
+            case "findElement":
+            case "findElements":
+                return Category.LOOKUP;
+            case "click":
+            case "sendKeys":
+            case "clear":
+            case "submit":
+            case "perform":
+            case "resetInputState":
+                return Category.INTERACTION;
+            default:
+                return Category.OTHER;
+        }
+    }
+
+    static int bucket(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = exponent < 3 ? (int) (micros << (3 - exponent)) & (SUB_BUCKETS - 1)
+                : (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min(exponent * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    static long bucketUpperMicros(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        return exponent < 3 ? (1L << (exponent + 1)) : ((SUB_BUCKETS + sub + 1L) << (exponent - 3));
+    }
+
+    private double percentileMillis(int command, double percentile) {
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += histograms.get(command * BUCKETS + b);
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histograms.get(command * BUCKETS + b);
+            if (seen >= rank && seen > 0) {
+                return bucketUpperMicros(b) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private String report() {
+        int commands = Math.min(commandCount.get(), MAX_COMMANDS);
+        if (commands == 0) {
+            return "";
+        }
+        StringBuilder report = new StringBuilder("Per-command latency (ms, log-bucket upper bounds)\n");
+        report.append(String.format("%-34s %8s %9s %9s %9s %9s %11s%n",
+                "command", "count", "p50", "p95", "p99", "avg", "total"));
+        List<Integer> order = new ArrayList<>();
+        for (int c = 0; c < commands; c++) {
+            order.add(c);
+        }
+        order.sort(Comparator.comparingLong(commandTotals::get).reversed());
+        for (int c : order) {
+            long count = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                count += histograms.get(c * BUCKETS + b);
+            }
+            if (count == 0) {
+                continue;
+            }
+            report.append(String.format("%-34s %8d %9.2f %9.2f %9.2f %9.2f %11.1f%n",
+                    commandNames.get(c), count,
+                    percentileMillis(c, 0.50), percentileMillis(c, 0.95), percentileMillis(c, 0.99),
+                    commandTotals.get(c) / 1e6 / count, commandTotals.get(c) / 1e6));
+        }
+
+        int testTotal = Math.min(testCount.get(), MAX_TESTS);
+        List<Integer> slowest = new ArrayList<>();
+        for (int t = 0; t < testTotal; t++) {
+            slowest.add(t);
+        }
+        slowest.sort(Comparator.comparingLong(testWallNanos::get).reversed());
+        report.append("\nSlowest tests (ms)\n");
+        report.append(String.format("%9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "wall", "session", "navigate", "lookup", "interact", "wait", "other", "test"));
+        for (int t : slowest.subList(0, Math.min(20, slowest.size()))) {
+            report.append(String.format("%9.1f", testWallNanos.get(t) / 1e6));
+            for (int category = 0; category < CATEGORIES; category++) {
+                report.append(String.format(" %9.1f", testCategoryNanos.get(t * CATEGORIES + category) / 1e6));
+            }
+            report.append("  ").append(testNames.get(t)).append('\n');
+        }
+
+        report.append("\nSlowest recent commands (ms)\n");
+        long end = ringIndex.get();
+        List<long[]> recent = new ArrayList<>();
+        for (long i = Math.max(0, end - ringNanos.length()); i < end; i++) {
+            int slot = (int) (i & mask);
+            if (ringStamps.get(slot) != i + 1) {
+                continue;
+            }
+            long[] entry = {ringNanos.get(slot), ringCommand.get(slot), ringTest.get(slot), ringLocator.get(slot)};
+            if (ringStamps.get(slot) == i + 1) {
+                recent.add(entry);
+            }
+        }
+        recent.sort(Comparator.comparingLong((long[] entry) -> entry[0]).reversed());
+        for (long[] entry : recent.subList(0, Math.min(20, recent.size()))) {
+            report.append(String.format("%9.1f  %-34s %-50s %s%n", entry[0] / 1e6,
+                    commandNames.get((int) entry[1]),
+                    entry[3] >= 0 ? locatorNames.get((int) entry[3]) : "",
+                    entry[2] >= 0 ? testNames.get((int) entry[2]) : ""));
+        }
+
+        long waitNanos = 0;
+        for (int t = 0; t < testTotal; t++) {
+            waitNanos += testCategoryNanos.get(t * CATEGORIES + Category.WAIT.ordinal());
+        }
+        report.append(String.format("%nTime in waits: %.1f ms, of which sleeping between polls: %.1f ms%n",
+                waitNanos / 1e6, WaitStats.sleptNanos() / 1e6));
+        return report.toString();
+    }
+
+    private static final class CallStack {
+        final long[] starts = new long[16];
+        final int[] locators = new int[16];
+        int depth;
+        int waitDepth;
+        int test = -1;
+        long testStart;
+    }
+}
@@ -0,0 +1,46 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Collects the WebDriver commands each test saved through {@link ElementState} batched reads.
+ */
+public class CommandSavingsExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Map<String, Integer> SAVED = new ConcurrentSkipListMap<>();
+
+    static {
+        Reports.register("command-savings.txt", CommandSavingsExtension::report);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ElementState.drainSavedCommands();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        int saved = ElementState.drainSavedCommands();
+        if (saved > 0) {
+            SAVED.merge(TestIds.of(context), saved, Integer::sum);
+        }
+    }
+
+    private static String report() {
+        if (SAVED.isEmpty()) {
+            return "";
+        }
+        StringBuilder report = new StringBuilder("WebDriver commands saved by batched reads\n");
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : SAVED.entrySet()) {
+            report.append(String.format("%5d  %s%n", entry.getValue(), entry.getKey()));
+            total += entry.getValue();
+        }
+        report.append(String.format("%5d  total%n", total));
+        return report.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Attributes the commands recorded by {@link CommandRecorder} to the test running on the current thread.
+ */
+public class CommandTimingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CommandRecorder.shared().startTest(TestIds.of(context));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CommandRecorder.shared().endTest();
+    }
+}
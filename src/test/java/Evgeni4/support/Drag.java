@@ -0,0 +1,170 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drags one element onto another with W3C pointer actions sent as a single {@code performActions}
+ * command, then reports where the element ended up. {@link #direct()} presses on the source, moves
+ * once by the distance between the two centres and releases; {@link #stepped} splits the move into
+ * equal steps with an optional pause after each, for pages that track the pointer. {@link #actions()}
+ * is {@code Actions.dragAndDrop}, kept for comparison.
+ * <p>
+ * The geometry before the drag and the check after it are one script call each, reading both elements'
+ * client rectangles together.
+ */
+public final class Drag {
+    private static final String RECTS =
+            "var a = arguments[0].getBoundingClientRect(), b = arguments[1].getBoundingClientRect();"
+                    + "return [a.left, a.top, a.width, a.height, b.left, b.top, b.width, b.height];";
+
+    private final String name;
+    private final int moves;
+    private final Duration pause;
+
+    private Drag(String name, int moves, Duration pause) {
+        this.name = name;
+        this.moves = moves;
+        this.pause = pause;
+    }
+
+    public static Drag direct() {
+        return new Drag("direct", 1, Duration.ZERO);
+    }
+
+    /**
+     * Moves in {@code moves} equal steps, pausing for {@code pause} after each.
+     */
+    public static Drag stepped(int moves, Duration pause) {
+        if (moves < 1 || pause.isNegative()) {
+            throw new IllegalArgumentException("moves must be positive and pause not negative");
+        }
+        return new Drag("stepped:" + moves + ":" + pause.toMillis(), moves, pause);
+    }
+
+    public static Drag actions() {
+        return new Drag("actions", 0, Duration.ZERO);
+    }
+
+    /**
+     * {@code direct}, {@code actions} or {@code stepped:<moves>:<pause ms>}.
+     */
+    public static Drag named(String name) {
+        if (name.equals("direct")) {
+            return direct();
+        }
+        if (name.equals("actions")) {
+            return actions();
+        }
+        String[] parts = name.split(":");
+        if (parts.length == 3 && parts[0].equals("stepped")) {
+            return stepped(Integer.parseInt(parts[1]), Duration.ofMillis(Long.parseLong(parts[2])));
+        }
+        throw new IllegalArgumentException("Unknown drag strategy '" + name
+                + "', expected direct, actions or stepped:<moves>:<pause ms>");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Drop perform(WebDriver driver, WebElement source, WebElement target) {
+        if (moves == 0) {
+            new Actions(driver).dragAndDrop(source, target).perform();
+            return Drop.read(driver, source, target);
+        }
+        Drop before = Drop.read(driver, source, target);
+        int dx = centreX(before.target) - centreX(before.dragged);
+        int dy = centreY(before.target) - centreY(before.dragged);
+
+        PointerInput mouse = new PointerInput(PointerInput.Kind.MOUSE, "drag");
+        Sequence drag = new Sequence(mouse, 0)
+                .addAction(mouse.createPointerMove(Duration.ZERO, PointerInput.Origin.fromElement(source), 0, 0))
+                .addAction(mouse.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        for (int step = 1; step <= moves; step++) {
+            drag.addAction(mouse.createPointerMove(Duration.ZERO, PointerInput.Origin.pointer(),
+                    share(dx, step) - share(dx, step - 1), share(dy, step) - share(dy, step - 1)));
+            if (!pause.isZero()) {
+                drag.addAction(new Pause(mouse, pause));
+            }
+        }
+        drag.addAction(mouse.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        ((Interactive) driver).perform(List.of(drag));
+        return Drop.read(driver, source, target);
+    }
+
+    private int share(int distance, int step) {
+        return Math.round(distance * (float) step / moves);
+    }
+
+    private static int centreX(Rectangle rect) {
+        return rect.getX() + rect.getWidth() / 2;
+    }
+
+    private static int centreY(Rectangle rect) {
+        return rect.getY() + rect.getHeight() / 2;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Where the dragged element and the target are, in viewport coordinates.
+     */
+    public static final class Drop {
+        private final Rectangle dragged;
+        private final Rectangle target;
+
+        private Drop(Rectangle dragged, Rectangle target) {
+            this.dragged = dragged;
+            this.target = target;
+        }
+
+        @SuppressWarnings("unchecked")
+        public static Drop read(WebDriver driver, WebElement dragged, WebElement target) {
+            List<Number> rects = (List<Number>) ((JavascriptExecutor) driver).executeScript(RECTS, dragged, target);
+            return new Drop(rect(rects, 0), rect(rects, 4));
+        }
+
+        private static Rectangle rect(List<Number> values, int from) {
+            return new Rectangle((int) Math.round(values.get(from).doubleValue()),
+                    (int) Math.round(values.get(from + 1).doubleValue()),
+                    (int) Math.round(values.get(from + 3).doubleValue()),
+                    (int) Math.round(values.get(from + 2).doubleValue()));
+        }
+
+        public boolean inside() {
+            return dragged.getX() >= target.getX()
+                    && dragged.getY() >= target.getY()
+                    && dragged.getX() + dragged.getWidth() <= target.getX() + target.getWidth()
+                    && dragged.getY() + dragged.getHeight() <= target.getY() + target.getHeight();
+        }
+
+        public Rectangle dragged() {
+            return dragged;
+        }
+
+        public Rectangle target() {
+            return target;
+        }
+
+        @Override
+        public String toString() {
+            return "dragged at (" + dragged.getX() + ", " + dragged.getY() + ") " + dragged.getWidth() + "x"
+                    + dragged.getHeight() + ", target at (" + target.getX() + ", " + target.getY() + ") "
+                    + target.getWidth() + "x" + target.getHeight();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.util.Map;
+
+public final class DriverFactory {
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver create(LaunchProfile profile) {
+        ChromeOptions options = profile.options();
+        if (Boolean.parseBoolean(System.getProperty("waits.events", "true"))) {
+            options.enableBiDi();
+        }
+        options.setCapability("goog:loggingPrefs", Map.of(LogType.BROWSER, "ALL"));
+        NavigationEpoch epoch = new NavigationEpoch();
+        WebDriver driver = new EventFiringDecorator<WebDriver>(CommandRecorder.shared(), epoch, ImpactRecorder.shared())
+                .decorate(LaunchProfile.chrome(options));
+        NavigationEpoch.track(driver, epoch);
+        return driver;
+    }
+}
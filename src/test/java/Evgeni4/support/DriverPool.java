@@ -0,0 +1,200 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps warm browser sessions and leases them to tests. A session is reset on release and
+ * retired after {@code maxUses} leases or after a test failed on it.
+ */
+public final class DriverPool {
+    private static final DriverPool SHARED = new DriverPool(
+            Integer.getInteger("pool.size", 1),
+            Integer.getInteger("pool.maxUses", 20));
+
+    private final int maxUses;
+    private final Semaphore permits;
+    private final BlockingDeque<Session> idle = new LinkedBlockingDeque<>();
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public DriverPool(int maxSessions, int maxUses) {
+        if (maxSessions < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("maxSessions and maxUses must be positive");
+        }
+        this.maxUses = maxUses;
+        this.permits = new Semaphore(maxSessions, true);
+    }
+
+    public static DriverPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Leases a session started with {@code profile}. When only sessions of other profiles are idle,
+     * the least recently used one is retired to make room.
+     */
+    public Session lease(LaunchProfile profile) {
+        long start = System.nanoTime();
+        permits.acquireUninterruptibly();
+        long waited = System.nanoTime() - start;
+        waitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        leases.incrementAndGet();
+
+        Session session = takeIdle(profile);
+        if (session != null) {
+            reused.incrementAndGet();
+        } else {
+            Session other = idle.pollLast();
+            if (other != null) {
+                retire(other);
+            }
+            long creating = System.nanoTime();
+            try {
+                session = new Session(DriverFactory.create(profile), profile);
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            CommandRecorder.shared().recordSessionStart(System.nanoTime() - creating);
+            created.incrementAndGet();
+        }
+        session.uses++;
+        return session;
+    }
+
+    public void release(Session session, boolean failed) {
+        try {
+            if (failed || session.uses >= maxUses || !reset(session.driver)) {
+                retire(session);
+            } else {
+                idle.offerFirst(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits the idle sessions side by side on a {@link SessionExecutor}; each quit is a driver round trip
+     * plus a browser shutdown, mostly spent waiting.
+     */
+    public void shutdown() {
+        List<Session> sessions = new ArrayList<>();
+        idle.drainTo(sessions);
+        ExecutorService quitting = SessionExecutor.create();
+        try {
+            sessions.forEach(session -> quitting.execute(() -> retire(session)));
+        } finally {
+            quitting.shutdown();
+        }
+        try {
+            quitting.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String report() {
+        long count = leases.get();
+        return String.format(
+                "leases=%d created=%d reused=%d retired=%d%n"
+                        + "lease wait: total=%d ms avg=%.2f ms max=%d ms%n",
+                count, created.get(), reused.get(), retired.get(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos.get()),
+                count == 0 ? 0.0 : waitNanos.get() / 1e6 / count,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    private Session takeIdle(LaunchProfile profile) {
+        for (Session session : idle) {
+            if (session.profile == profile && idle.remove(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private void retire(Session session) {
+        retired.incrementAndGet();
+        Waits.forget(session.driver);
+        NavigationEpoch.forget(session.driver);
+        try {
+            session.driver.quit();
+        } catch (RuntimeException ignored) { }
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String keep = handles.iterator().next();
+            if (handles.size() > 1) {
+                for (String handle : handles) {
+                    if (!handle.equals(keep)) {
+                        driver.switchTo().window(handle).close();
+                    }
+                }
+            }
+            driver.switchTo().window(keep);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { localStorage.clear(); sessionStorage.clear(); } catch (e) { }");
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public final class Session implements Lease {
+        private final WebDriver driver;
+        private final LaunchProfile profile;
+        private int uses;
+
+        private Session(WebDriver driver, LaunchProfile profile) {
+            this.driver = driver;
+            this.profile = profile;
+        }
+
+        @Override
+        public void release(boolean failed) {
+            DriverPool.this.release(this, failed);
+        }
+
+        @Override
+        public WebDriver driver() {
+            return driver;
+        }
+
+        public LaunchProfile profile() {
+            return profile;
+        }
+
+        public int uses() {
+            return uses;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package Evgeni4.support;
+
+import Evgeni4.pages.Page;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Optional;
+
+public class DriverPoolExtension implements ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(DriverPoolExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == WebDriver.class || Page.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Resolves the leased driver, or a page object bound to it. Page objects are constructed with
+     * their {@code (WebDriver)} constructor and do not navigate; the page comes from
+     * {@link SeleniumTest#page()} or from the test.
+     */
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return resolve(parameterContext.getParameter().getType(), extensionContext);
+    }
+
+    /**
+     * Arguments for running a failed test again: the page is reloaded for {@link PageScoped} rows, other
+     * tests get a new lease. An assertion failure leaves the session usable, so it is reset and reused;
+     * any other failure retires it. Driver and page object arguments are rebuilt on the new session.
+     */
+    static Object[] retryArguments(ExtensionContext context, Throwable failure, List<Object> arguments) {
+        Optional<PageScope> scope = pageScope(context)
+                .map(parent -> parent.getStore(NAMESPACE).get(PageScope.class, PageScope.class));
+        if (scope.isPresent()) {
+            scope.get().reload();
+        } else {
+            Lease session = context.getStore(NAMESPACE).remove("session", Lease.class);
+            if (session != null) {
+                session.release(!(failure instanceof AssertionError));
+            }
+        }
+        Parameter[] parameters = context.getRequiredTestMethod().getParameters();
+        Object[] retry = arguments.toArray();
+        for (int i = 0; i < retry.length; i++) {
+            Class<?> type = parameters[i].getType();
+            if (type == WebDriver.class || Page.class.isAssignableFrom(type)) {
+                retry[i] = resolve(type, context);
+            }
+        }
+        return retry;
+    }
+
+    /**
+     * The driver the test has leased so far, without leasing one.
+     */
+    static Optional<WebDriver> leasedDriver(ExtensionContext context) {
+        Optional<ExtensionContext> scopeContext = pageScope(context);
+        Lease session = scopeContext.isPresent()
+                ? Optional.ofNullable(scopeContext.get().getStore(NAMESPACE).get(PageScope.class, PageScope.class))
+                        .map(PageScope::session).orElse(null)
+                : context.getStore(NAMESPACE).get("session", Lease.class);
+        return Optional.ofNullable(session).map(Lease::driver);
+    }
+
+    private static Object resolve(Class<?> type, ExtensionContext context) {
+        WebDriver driver = session(context).driver();
+        if (type == WebDriver.class) {
+            return driver;
+        }
+        try {
+            return type.getConstructor(WebDriver.class).newInstance(driver);
+        } catch (ReflectiveOperationException e) {
+            throw new ParameterResolutionException("Cannot create page object " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (context.getStore(NAMESPACE).remove("footprint", Boolean.class) != null) {
+            BrowserFootprint.testFinished();
+        }
+        boolean failed = context.getExecutionException().isPresent();
+        Lease session = context.getStore(NAMESPACE).remove("session", Lease.class);
+        if (session != null) {
+            session.release(failed);
+        }
+        Optional<PageScope> scope = pageScope(context)
+                .map(parent -> parent.getStore(NAMESPACE).get(PageScope.class, PageScope.class));
+        if (scope.isPresent()) {
+            scope.get().afterRow(failed);
+        }
+    }
+
+    private static Lease session(ExtensionContext context) {
+        if (BrowserFootprint.ENABLED) {
+            context.getStore(NAMESPACE).getOrComputeIfAbsent("footprint", key -> {
+                BrowserFootprint.testStarted();
+                return Boolean.TRUE;
+            }, Boolean.class);
+        }
+        Optional<ExtensionContext> scopeContext = pageScope(context);
+        if (scopeContext.isPresent()) {
+            String field = AnnotationSupport.findAnnotation(context.getTestMethod(), PageScoped.class)
+                    .orElseThrow().field();
+            return scopeContext.get().getStore(NAMESPACE)
+                    .getOrComputeIfAbsent(PageScope.class, key -> new PageScope(lease(context), field), PageScope.class)
+                    .session();
+        }
+        return context.getStore(NAMESPACE)
+                .getOrComputeIfAbsent("session", key -> lease(context), Lease.class);
+    }
+
+    private static Optional<ExtensionContext> pageScope(ExtensionContext context) {
+        if (!AnnotationSupport.isAnnotated(context.getTestMethod(), PageScoped.class)) {
+            return Optional.empty();
+        }
+        return context.getParent();
+    }
+
+    /**
+     * Leases a session with the class's launch profile, opened on its {@link SeleniumTest#page()}. Classes
+     * marked {@link SeleniumTest#tabs()} get a tab of a shared browser when tab mode is on; other sessions
+     * get the class's request blocking and asset caching.
+     */
+    static Lease lease(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(PoolReport.class, key -> new PoolReport(), PoolReport.class);
+        Optional<SeleniumTest> annotation =
+                AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SeleniumTest.class);
+        LaunchProfile profile = LaunchProfile.resolve(annotation.map(SeleniumTest::profile).orElse(""));
+        Lease session = annotation.map(SeleniumTest::tabs).orElse(false) && TabHost.shared().enabled()
+                ? TabHost.shared().open(profile)
+                : DriverPool.shared().lease(profile);
+        if (annotation.isPresent() && TabHost.isTab(session.driver())) {
+            AssetInterceptor.skippedAsTab(context.getRequiredTestClass(), annotation.get());
+        } else if (annotation.isPresent()) {
+            try {
+                session = AssetInterceptor.attach(session, context.getRequiredTestClass(), annotation.get());
+            } catch (RuntimeException e) {
+                session.release(true);
+                throw e;
+            }
+        }
+        String page = annotation.map(SeleniumTest::page).orElse("");
+        if (!page.isEmpty()) {
+            try {
+                session.driver().get(Fixtures.url(page));
+            } catch (RuntimeException e) {
+                session.release(true);
+                throw e;
+            }
+        }
+        return session;
+    }
+
+    private static final class PoolReport implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            TabHost tabs = TabHost.shared();
+            tabs.shutdown();
+            DriverPool pool = DriverPool.shared();
+            pool.shutdown();
+            String report = tabs.enabled() ? pool.report() + tabs.report() : pool.report();
+            System.out.print(report);
+            Reports.write("driver-pool.txt", report);
+        }
+    }
+}
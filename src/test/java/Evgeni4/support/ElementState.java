@@ -0,0 +1,164 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads several properties of one or more elements in a single {@code executeScript} round trip.
+ * Besides attribute names, {@code displayed}, {@code enabled}, {@code selected}, {@code text}
+ * and {@code tagName} mirror the matching {@link WebElement} methods.
+ */
+public final class ElementState {
+    static final String DISPLAYED_FUNCTION =
+            "function displayed(el) {"
+                    + "  for (var e = el; e; e = e.parentElement) {"
+                    + "    var style = getComputedStyle(e);"
+                    + "    if (style.display === 'none' || style.opacity === '0') { return false; }"
+                    + "  }"
+                    + "  var visibility = getComputedStyle(el).visibility;"
+                    + "  var rect = el.getBoundingClientRect();"
+                    + "  return visibility !== 'hidden' && visibility !== 'collapse' && rect.width > 0 && rect.height > 0;"
+                    + "}";
+
+    static final String BOOLEAN_ATTRIBUTES =
+            "['checked', 'disabled', 'hidden', 'multiple', 'readonly', 'required', 'selected', 'autofocus', 'novalidate']";
+
+    private static final String SCRIPT =
+            "var target = arguments[0], props = arguments[1], using = arguments[2], elements = [];"
+                    + "if (using === 'css selector') {"
+                    + "  elements = Array.prototype.slice.call(document.querySelectorAll(target));"
+                    + "} else if (using === 'xpath') {"
+                    + "  var found = document.evaluate(target, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "  for (var i = 0; i < found.snapshotLength; i++) { elements.push(found.snapshotItem(i)); }"
+                    + "} else {"
+                    + "  elements = target;"
+                    + "}"
+                    + "var booleans = " + BOOLEAN_ATTRIBUTES + ";"
+                    + DISPLAYED_FUNCTION
+                    + "function read(el, p) {"
+                    + "  switch (p) {"
+                    + "    case 'displayed': return displayed(el);"
+                    + "    case 'enabled': return !el.matches(':disabled');"
+                    + "    case 'selected': return !!(el.checked || el.selected);"
+                    + "    case 'text': return displayed(el) ? el.innerText.trim() : '';"
+                    + "    case 'tagName': return el.tagName.toLowerCase();"
+                    + "  }"
+                    + "  if (booleans.indexOf(p) >= 0) { return el.hasAttribute(p) || el[p] === true ? 'true' : null; }"
+                    + "  var value = el[p];"
+                    + "  if (typeof value === 'string' || typeof value === 'number') { return String(value); }"
+                    + "  return el.getAttribute(p);"
+                    + "}"
+                    + "return elements.map(function (el) {"
+                    + "  var out = {};"
+                    + "  props.forEach(function (p) { out[p] = read(el, p); });"
+                    + "  return out;"
+                    + "});";
+
+    private static final ThreadLocal<int[]> SAVED = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Map<String, Object> values;
+
+    private ElementState(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    static ElementState of(Map<String, Object> values) {
+        return new ElementState(values);
+    }
+
+    public static ElementState read(WebDriver driver, WebElement element, String... properties) {
+        List<ElementState> states = execute(driver, List.of(element), null, properties);
+        countSaved(properties.length, 1);
+        return states.get(0);
+    }
+
+    public static ElementState read(WebDriver driver, By locator, String... properties) {
+        List<ElementState> states = readAll(driver, locator, properties);
+        if (states.isEmpty()) {
+            throw new NoSuchElementException("No element found for " + locator);
+        }
+        return states.get(0);
+    }
+
+    public static List<ElementState> readAll(WebDriver driver, By locator, String... properties) {
+        // CSS and XPath are resolved inside the script, where the find-element listener does not see them
+        ImpactRecorder.shared().locator(locator);
+        List<ElementState> states;
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            String using = parameters.using();
+            if (using.equals("css selector") || using.equals("xpath")) {
+                states = execute(driver, parameters.value(), using, properties);
+                countSaved(1 + properties.length * states.size(), 1);
+                return states;
+            }
+        }
+        List<WebElement> elements = driver.findElements(locator);
+        states = execute(driver, elements, null, properties);
+        countSaved(1 + properties.length * states.size(), 2);
+        return states;
+    }
+
+    /**
+     * Returns the WebDriver commands saved by batched reads on this thread since the last call.
+     */
+    public static int drainSavedCommands() {
+        int[] saved = SAVED.get();
+        int count = saved[0];
+        saved[0] = 0;
+        return count;
+    }
+
+    public String string(String property) {
+        Object value = value(property);
+        return value == null ? null : value.toString();
+    }
+
+    public boolean bool(String property) {
+        Object value = value(property);
+        return value instanceof Boolean ? (Boolean) value : "true".equals(value);
+    }
+
+    public int integer(String property) {
+        return Integer.parseInt(string(property));
+    }
+
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+
+    private Object value(String property) {
+        if (!values.containsKey(property)) {
+            throw new IllegalArgumentException("Property was not read: " + property);
+        }
+        return values.get(property);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ElementState> execute(WebDriver driver, Object target, String using, String... properties) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(SCRIPT, target, Arrays.asList(properties), using);
+        List<ElementState> states = new ArrayList<>(raw.size());
+        for (Map<String, Object> values : raw) {
+            states.add(new ElementState(values));
+        }
+        return states;
+    }
+
+    private static void countSaved(int individualCommands, int batchedCommands) {
+        SAVED.get()[0] += Math.max(0, individualCommands - batchedCommands);
+    }
+}
@@ -0,0 +1,125 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.opentest4j.TestAbortedException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures a screenshot, the page source and the browser console log the moment a test fails, while the
+ * session still shows the failing state, and hands them to a background thread that compresses and
+ * writes them to the {@link FailureStore}. The test thread only pays for the three driver calls. When
+ * the writer falls more than a few failures behind, the test thread writes its own capture, so pending
+ * captures never pile up in memory. Aborted tests, including quarantined ones, are not captured.
+ * <p>
+ * A failure that {@link RetryExtension} retries is captured by it through {@link #captureAttempt} before
+ * the session is reset or the page reloaded, so flaky failures that pass on retry are kept too. This
+ * handler only sees the last failure, after the retries gave up.
+ */
+public class FailureCaptureExtension implements TestExecutionExceptionHandler {
+    private static final ExecutorService WRITER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(8), task -> {
+                Thread thread = new Thread(task, "failure-capture");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static final AtomicLong CAPTURES = new AtomicLong();
+    private static final AtomicLong CAPTURE_NANOS = new AtomicLong();
+    private static final AtomicLong WRITE_NANOS = new AtomicLong();
+    private static final AtomicLong INCOMPLETE = new AtomicLong();
+
+    static {
+        Reports.register("failure-capture.txt", FailureCaptureExtension::report);
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        if (!(throwable instanceof TestAbortedException)) {
+            DriverPoolExtension.leasedDriver(context).ifPresent(driver -> capture(TestIds.of(context), driver));
+        }
+        throw throwable;
+    }
+
+    /**
+     * Captures a failed attempt that is about to be retried, while its session is still untouched.
+     */
+    static void captureAttempt(ExtensionContext context, int attempt, Throwable failure) {
+        if (!(failure instanceof TestAbortedException)) {
+            DriverPoolExtension.leasedDriver(context)
+                    .ifPresent(driver -> capture(TestIds.of(context) + " attempt " + attempt, driver));
+        }
+    }
+
+    private static void capture(String test, WebDriver driver) {
+        long start = System.nanoTime();
+        byte[] screenshot = null;
+        String pageSource = null;
+        String log = null;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException ignored) { }
+        try {
+            pageSource = driver.getPageSource();
+        } catch (RuntimeException ignored) { }
+        try {
+            StringBuilder entries = new StringBuilder();
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                entries.append(entry).append(System.lineSeparator());
+            }
+            log = entries.toString();
+        } catch (RuntimeException ignored) { }
+        CAPTURE_NANOS.addAndGet(System.nanoTime() - start);
+        CAPTURES.incrementAndGet();
+        if (screenshot == null || pageSource == null || log == null) {
+            INCOMPLETE.incrementAndGet();
+        }
+
+        byte[] capturedScreenshot = screenshot;
+        String capturedSource = pageSource;
+        String capturedLog = log;
+        WRITER.execute(() -> {
+            long writing = System.nanoTime();
+            try {
+                FailureStore.shared().store(test, capturedScreenshot, capturedSource, capturedLog);
+            } catch (RuntimeException e) {
+                System.err.println("Could not store failure capture of " + test + ": " + e);
+            } finally {
+                WRITE_NANOS.addAndGet(System.nanoTime() - writing);
+            }
+        });
+    }
+
+    /**
+     * Waits for pending writes; runs once the suite is over.
+     */
+    private static String report() {
+        long captures = CAPTURES.get();
+        if (captures == 0) {
+            return "";
+        }
+        WRITER.shutdown();
+        try {
+            WRITER.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return String.format("captures=%d incomplete=%d%n"
+                        + "on test thread: total=%.0f ms avg=%.1f ms%n"
+                        + "in background:  total=%.0f ms avg=%.1f ms%n",
+                captures, INCOMPLETE.get(),
+                CAPTURE_NANOS.get() / 1e6, CAPTURE_NANOS.get() / 1e6 / captures,
+                WRITE_NANOS.get() / 1e6, WRITE_NANOS.get() / 1e6 / captures)
+                + FailureStore.shared().report();
+    }
+}
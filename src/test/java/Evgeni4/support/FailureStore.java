@@ -0,0 +1,169 @@
+package Evgeni4.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk store of failure captures under {@code failures.dir}, one directory per failure holding the
+ * screenshot, the gzipped browser log and a reference to the page source. Page sources are gzipped and
+ * stored once per content hash under {@code dom/}, so failures on the same page state share one file.
+ * Once the store holds more than {@code failures.maxBytes}, the oldest failures are deleted, along with
+ * page sources nothing refers to any more.
+ */
+public final class FailureStore {
+    private static final FailureStore SHARED = new FailureStore(
+            Path.of(System.getProperty("failures.dir",
+                    Path.of(System.getProperty("reports.dir", "build/reports/selenium"), "failures").toString())),
+            Long.getLong("failures.maxBytes", 64L << 20));
+
+    private final Path dir;
+    private final long maxBytes;
+    private long sequence;
+
+    private long stored;
+    private long sharedDoms;
+    private long bytesWritten;
+    private long evicted;
+
+    public FailureStore(Path dir, long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    public static FailureStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Stores one failure; any of the parts may be {@code null} when it could not be captured. Returns the
+     * failure's directory.
+     */
+    public synchronized Path store(String test, byte[] screenshot, String pageSource, String log) {
+        try {
+            String name = test.replaceAll("[^A-Za-z0-9._-]+", "_");
+            Path capture = dir.resolve(String.format("%013d-%04d-%s", System.currentTimeMillis(), sequence++ % 10000,
+                    name.substring(0, Math.min(name.length(), 120))));
+            Files.createDirectories(capture);
+            if (screenshot != null) {
+                Files.write(capture.resolve("screenshot.png"), screenshot);
+                bytesWritten += screenshot.length;
+            }
+            if (log != null) {
+                bytesWritten += gzip(capture.resolve("browser.log.gz"), log);
+            }
+            if (pageSource != null) {
+                String hash = sha256(pageSource);
+                Path dom = dir.resolve("dom").resolve(hash + ".html.gz");
+                if (Files.exists(dom)) {
+                    sharedDoms++;
+                } else {
+                    Files.createDirectories(dom.getParent());
+                    bytesWritten += gzip(dom, pageSource);
+                }
+                Files.writeString(capture.resolve("dom.ref"), "dom/" + hash + ".html.gz");
+            }
+            stored++;
+            evict();
+            return capture;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized String report() {
+        return String.format("stored=%d shared-dom=%d written=%.1f KB evicted=%d (limit %d KB, %s)%n",
+                stored, sharedDoms, bytesWritten / 1024.0, evicted, maxBytes / 1024, dir);
+    }
+
+    private void evict() throws IOException {
+        List<Path> captures = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> children = Files.list(dir)) {
+            for (Path child : (Iterable<Path>) children.sorted()::iterator) {
+                total += size(child);
+                if (!child.getFileName().toString().equals("dom")) {
+                    captures.add(child);
+                }
+            }
+        }
+        int oldest = 0;
+        while (total > maxBytes && oldest < captures.size() - 1) {
+            total -= size(captures.get(oldest));
+            delete(captures.get(oldest++));
+            evicted++;
+        }
+        if (oldest > 0) {
+            dropUnreferencedDoms(captures.subList(oldest, captures.size()));
+        }
+    }
+
+    private void dropUnreferencedDoms(List<Path> captures) throws IOException {
+        Path doms = dir.resolve("dom");
+        if (!Files.isDirectory(doms)) {
+            return;
+        }
+        Set<String> referenced = new HashSet<>();
+        for (Path capture : captures) {
+            Path ref = capture.resolve("dom.ref");
+            if (Files.exists(ref)) {
+                referenced.add(dir.resolve(Files.readString(ref).trim()).getFileName().toString());
+            }
+        }
+        try (Stream<Path> files = Files.list(doms)) {
+            for (Path dom : (Iterable<Path>) files::iterator) {
+                if (!referenced.contains(dom.getFileName().toString())) {
+                    Files.deleteIfExists(dom);
+                }
+            }
+        }
+    }
+
+    private static long gzip(Path file, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return Files.size(file);
+    }
+
+    private static long size(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted((a, b) -> b.compareTo(a))::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package Evgeni4.support;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The bundled pages are reconstructions, so this checks each one against the live site: every id, name
+ * and link, button or heading text of the bundled page has to be on the original too. Needs the network;
+ * {@code gradle remoteTests} runs it along with the suite against the live site.
+ */
+@EnabledIfSystemProperty(named = "fixtures.parity", matches = "true")
+public class FixtureParityTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"web-form.html", "dropdown-menu.html", "drag-and-drop.html", "navigation1.html",
+            "navigation2.html", "navigation3.html", "index.html", "submitted-form.html"})
+    void bundledPageMatchesTheSite(String page) throws Exception {
+        Document bundled;
+        try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream("pages/" + page)) {
+            bundled = Jsoup.parse(in, "UTF-8", Fixtures.REMOTE_BASE_URL + "/" + page);
+        }
+        Document site = Jsoup.connect(Fixtures.REMOTE_BASE_URL + "/" + page).get();
+
+        List<String> missing = new ArrayList<>();
+        for (Element element : bundled.select("[id]")) {
+            if (site.getElementById(element.id()) == null) {
+                missing.add("#" + element.id());
+            }
+        }
+        for (Element element : bundled.select("[name]")) {
+            if (site.select(element.tagName() + "[name=" + element.attr("name") + "]").isEmpty()) {
+                missing.add(element.tagName() + "[name=" + element.attr("name") + "]");
+            }
+        }
+        for (Element element : bundled.select("a, button, h1, h5, label")) {
+            String text = element.ownText().trim();
+            if (!text.isEmpty() && !site.select(element.tagName()).eachText().stream()
+                    .anyMatch(candidate -> candidate.contains(text))) {
+                missing.add(element.tagName() + " '" + text + "'");
+            }
+        }
+        assertEquals(List.of(), missing, page + " has elements the site does not");
+    }
+}
@@ -0,0 +1,42 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixtureServerTests {
+    HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void servesBundledPages() throws Exception {
+        for (String page : new String[]{"web-form.html", "dropdown-menu.html", "drag-and-drop.html",
+                "navigation1.html", "navigation2.html", "navigation3.html", "index.html", "submitted-form.html"}) {
+            HttpResponse<String> response = get(page);
+
+            assertEquals(200, response.statusCode(), page);
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/html"));
+            assertTrue(response.body().contains("Hands-On Selenium WebDriver with Java"), page);
+        }
+    }
+
+    @Test
+    void sameServerPerJvm() {
+        assertSame(FixtureServer.get(), FixtureServer.get());
+    }
+
+    @Test
+    void missingAndEscapingPathsAreNotFound() throws Exception {
+        assertEquals(404, get("missing.html").statusCode());
+        assertEquals(404, get("../Evgeni4/support/Fixtures.class").statusCode());
+    }
+
+    HttpResponse<String> get(String page) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(FixtureServer.get().baseUrl() + "/" + page)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
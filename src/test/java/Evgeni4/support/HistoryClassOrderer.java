@@ -0,0 +1,21 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+/**
+ * Orders test classes by {@link TestHistory}; see {@link HistoryOrder}. A class's duration is the sum
+ * of its methods', and it counts as recently failed if any of its methods did.
+ */
+public class HistoryClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestHistory history = TestHistory.current();
+        context.getClassDescriptors().sort(HistoryOrder.<ClassDescriptor>comparing(
+                descriptor -> history.classRecentlyFailed(descriptor.getTestClass().getName()),
+                descriptor -> history.classMillis(descriptor.getTestClass().getName()),
+                HistoryOrder.parallel(context::getConfigurationParameter)));
+    }
+}
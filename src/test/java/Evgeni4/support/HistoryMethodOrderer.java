@@ -0,0 +1,33 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Optional;
+
+/**
+ * Orders the methods of a test class by {@link TestHistory}; see {@link HistoryOrder}.
+ */
+public class HistoryMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestHistory history = TestHistory.current();
+        Class<?> testClass = context.getTestClass();
+        context.getMethodDescriptors().sort(HistoryOrder.<MethodDescriptor>comparing(
+                descriptor -> history.recentlyFailed(HistoryOrder.key(testClass, descriptor.getMethod().getName())),
+                descriptor -> history.get(HistoryOrder.key(testClass, descriptor.getMethod().getName()))
+                        .map(TestHistory.Entry::millis),
+                HistoryOrder.parallel(context::getConfigurationParameter)));
+    }
+
+    /**
+     * Keeps the configured execution mode; the interface default would force methods onto one thread.
+     */
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+}
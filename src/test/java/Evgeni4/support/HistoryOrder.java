@@ -0,0 +1,35 @@
+package Evgeni4.support;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The ordering shared by {@link HistoryClassOrderer} and {@link HistoryMethodOrderer}: tests that
+ * failed recently run first, then tests without history, then the rest. Within each group a sequential
+ * run goes shortest first, so the first failure shows up as early as possible. A parallel run goes
+ * longest first: the workers start on the long tests and the short ones fill the gaps at the end, so
+ * no single worker is left running one long test.
+ */
+final class HistoryOrder {
+    private static final String PARALLEL = "junit.jupiter.execution.parallel.enabled";
+
+    private HistoryOrder() {
+    }
+
+    static boolean parallel(Function<String, Optional<String>> configuration) {
+        return configuration.apply(PARALLEL).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    static <T> Comparator<T> comparing(Function<T, Boolean> recentlyFailed, Function<T, Optional<Double>> millis,
+                                       boolean parallel) {
+        Comparator<T> byGroup = Comparator.comparingInt(item -> recentlyFailed.apply(item) ? 0
+                : millis.apply(item).isEmpty() ? 1 : 2);
+        Comparator<Double> duration = parallel ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return byGroup.thenComparing(item -> millis.apply(item).orElse(0.0), duration);
+    }
+
+    static String key(Class<?> testClass, String method) {
+        return testClass.getName() + "#" + method;
+    }
+}
@@ -0,0 +1,29 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Attributes what {@link ImpactRecorder} sees to the test running on the current thread. The class's
+ * {@link SeleniumTest#page()} counts for every test, since sessions that are reused or snapshots taken
+ * for an earlier test do not load it again.
+ */
+public class ImpactExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ImpactRecorder recorder = ImpactRecorder.shared();
+        recorder.startTest(HistoryOrder.key(context.getRequiredTestClass(), context.getRequiredTestMethod().getName()));
+        AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SeleniumTest.class)
+                .map(SeleniumTest::page)
+                .filter(page -> !page.isEmpty())
+                .ifPresent(page -> recorder.page(Fixtures.url(page)));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ImpactRecorder.shared().endTest();
+    }
+}
@@ -0,0 +1,42 @@
+package Evgeni4.support;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Optional;
+
+/**
+ * Drops tests the {@link ImpactIndex} says no change since the last green run can reach. Active only
+ * with {@code impact.select=true} (the {@code affectedTests} task); without an index, or after a change
+ * no test is mapped to, everything runs. Registered through {@code META-INF/services}.
+ */
+public class ImpactFilter implements PostDiscoveryFilter {
+    static final boolean ENABLED = Boolean.getBoolean("impact.select");
+
+    private Optional<ImpactIndex.Selection> selection;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!ENABLED || !(descriptor.getSource().orElse(null) instanceof MethodSource)) {
+            return FilterResult.included("not a test method");
+        }
+        MethodSource source = (MethodSource) descriptor.getSource().get();
+        String key = source.getClassName() + "#" + source.getMethodName();
+        return selection().map(s -> s.includes(key)).orElse(true)
+                ? FilterResult.included("affected by a change")
+                : FilterResult.excluded("nothing it depends on changed");
+    }
+
+    private synchronized Optional<ImpactIndex.Selection> selection() {
+        if (selection == null) {
+            selection = ImpactIndex.load(ImpactIndex.FILE).flatMap(ImpactIndex::affected);
+            String report = selection.map(ImpactIndex.Selection::report)
+                    .orElse("affected tests: all (no index, or a change no test is mapped to)" + System.lineSeparator());
+            System.out.print(report);
+            Reports.write("affected-tests.txt", report);
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,353 @@
+package Evgeni4.support;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.openqa.selenium.By;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Which fixture pages, source files and locators each test depended on in the last green run, with a
+ * content hash of every fixture and source file at that point ({@code impact.file}, {@code .test-impact}
+ * by default). From it {@link #affected()} works out which tests a change can reach.
+ * <p>
+ * {@code By} constants are left out of the source hashes and compared one by one instead, so moving
+ * {@code WebFormPage.RANGE} reruns the tests that looked up the range input, not every form test. A
+ * change to a source file no test depends on, such as the driver pool, selects everything.
+ */
+public final class ImpactIndex {
+    static final Path FILE = Path.of(System.getProperty("impact.file", ".test-impact"));
+    private static final Path FIXTURES = Path.of(System.getProperty("impact.fixtures", "src/main/resources/pages"));
+    private static final List<Path> SOURCES = Stream.of(System.getProperty("impact.sources", "src/test/java")
+            .split(File.pathSeparator)).map(Path::of).toList();
+    private static final Pattern BY_CONSTANT =
+            Pattern.compile("(?s)static\\s+final\\s+By\\s+\\w+\\s*=.*?;");
+
+    private final Map<String, String> fixtures;
+    private final Map<String, String> sources;
+    private final Map<String, Dependencies> tests;
+
+    private ImpactIndex(Map<String, String> fixtures, Map<String, String> sources, Map<String, Dependencies> tests) {
+        this.fixtures = fixtures;
+        this.sources = sources;
+        this.tests = tests;
+    }
+
+    static Optional<ImpactIndex> load(Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        Map<String, String> fixtures = new TreeMap<>();
+        Map<String, String> sources = new TreeMap<>();
+        Map<String, Dependencies> tests = new TreeMap<>();
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", 5);
+                switch (fields[0]) {
+                    case "fixture" -> fixtures.put(fields[1], fields[2]);
+                    case "source" -> sources.put(fields[1], fields[2]);
+                    case "test" -> {
+                        Dependencies dependencies = tests.computeIfAbsent(fields[1], key -> new Dependencies());
+                        switch (fields[2]) {
+                            case "page" -> dependencies.pages.add(fields[3]);
+                            case "source" -> dependencies.sources.add(fields[3]);
+                            case "locator" -> dependencies.locators.put(fields[3], fields[4]);
+                            default -> throw new IllegalStateException("Unknown dependency " + fields[2]);
+                        }
+                    }
+                    default -> throw new IllegalStateException("Unknown line " + line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // an unreadable index just means a full run
+            return Optional.empty();
+        }
+        return Optional.of(new ImpactIndex(fixtures, sources, tests));
+    }
+
+    /**
+     * Folds what a green run touched into the index. Tests that did not run keep their entries. After a
+     * full run or an {@link ImpactFilter} selection every file is hashed as it is now: a change that could
+     * reach a skipped test would have selected it. Any other partial run, such as {@code markupTests} or
+     * {@code --tests}, only takes a file's new hash when every test depending on it ran, so an edit still
+     * selects the tests that have not seen it.
+     */
+    static void recordGreenRun(Map<String, ImpactRecorder.Touched> touched, Set<String> ran) {
+        Optional<ImpactIndex> previous = load(FILE);
+        boolean complete = ImpactFilter.ENABLED || previous.isEmpty() || ran.containsAll(previous.get().tests.keySet());
+        Map<String, Dependencies> tests = new TreeMap<>(previous.map(index -> index.tests).orElse(Map.of()));
+        for (String key : ran) {
+            Dependencies dependencies = new Dependencies();
+            ImpactRecorder.Touched test = touched.get(key);
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            ReflectionSupport.tryToLoadClass(key.substring(0, key.indexOf('#'))).ifSuccess(classes::add);
+            if (test != null) {
+                dependencies.pages.addAll(test.pages);
+                classes.addAll(test.classes);
+            }
+            Map<String, String> constants = new HashMap<>();
+            for (Class<?> type : classes) {
+                for (Class<?> c = type; c != null && sourceFile(c).isPresent(); c = c.getSuperclass()) {
+                    dependencies.sources.add(sourceFile(c).get());
+                    constants.putAll(byConstants(c));
+                }
+            }
+            if (test != null) {
+                constants.forEach((constant, locator) -> {
+                    if (test.locators.contains(locator)) {
+                        dependencies.locators.put(constant, locator);
+                    }
+                });
+            }
+            tests.put(key, dependencies);
+        }
+        Map<String, String> fixtures = hashFixtures();
+        Map<String, String> sources = hashSources();
+        if (!complete) {
+            fixtures = verifiedHashes(previous.get().fixtures, fixtures, path -> tests.entrySet().stream()
+                    .filter(test -> path.endsWith(".html")
+                            ? test.getValue().pages.contains(path) : !test.getValue().pages.isEmpty())
+                    .map(Map.Entry::getKey).toList(), ran);
+            sources = verifiedHashes(previous.get().sources, sources, path -> tests.entrySet().stream()
+                    .filter(test -> test.getValue().sources.contains(path))
+                    .map(Map.Entry::getKey).toList(), ran);
+        }
+        new ImpactIndex(fixtures, sources, tests).save(FILE);
+    }
+
+    /**
+     * The current hash of each file whose dependents all ran, the last recorded one otherwise. Files no
+     * test depends on keep theirs too, since a change to them has to select everything.
+     */
+    private static Map<String, String> verifiedHashes(Map<String, String> before, Map<String, String> now,
+                                                      Function<String, List<String>> dependents, Set<String> ran) {
+        Map<String, String> hashes = new TreeMap<>();
+        now.forEach((path, hash) -> {
+            List<String> users = dependents.apply(path);
+            if (!users.isEmpty() && ran.containsAll(users)) {
+                hashes.put(path, hash);
+            } else if (before.containsKey(path)) {
+                hashes.put(path, before.get(path));
+            }
+        });
+        return hashes;
+    }
+
+    /**
+     * The tests a change since the last green run can reach, or empty when everything has to run.
+     */
+    Optional<Selection> affected() {
+        Map<String, String> fixturesNow = hashFixtures();
+        Map<String, String> sourcesNow = hashSources();
+        Set<String> changedFixtures = changed(fixtures, fixturesNow);
+        Set<String> changedSources = changed(sources, sourcesNow);
+        boolean assetsChanged = changedFixtures.stream().anyMatch(file -> !file.endsWith(".html"));
+
+        Set<String> attributed = new TreeSet<>();
+        tests.values().forEach(dependencies -> attributed.addAll(dependencies.sources));
+        for (String source : changedSources) {
+            if (!attributed.contains(source) && !isTestClass(source)) {
+                return Optional.empty();
+            }
+        }
+
+        Map<String, String> reasons = new TreeMap<>();
+        tests.forEach((key, dependencies) -> {
+            String reason = dependencies.pages.stream().filter(changedFixtures::contains).findFirst()
+                    .or(() -> assetsChanged && !dependencies.pages.isEmpty() ? Optional.of("page assets") : Optional.empty())
+                    .or(() -> dependencies.sources.stream().filter(changedSources::contains).findFirst())
+                    .or(() -> dependencies.locators.entrySet().stream()
+                            .filter(locator -> !locator.getValue().equals(currentLocator(locator.getKey())))
+                            .map(Map.Entry::getKey)
+                            .findFirst())
+                    .orElse(null);
+            if (reason != null) {
+                reasons.put(key, reason);
+            }
+        });
+        return Optional.of(new Selection(tests.keySet(), reasons));
+    }
+
+    private void save(Path file) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# test impact index, written after the last green run");
+        fixtures.forEach((path, hash) -> lines.add("fixture\t" + path + "\t" + hash));
+        sources.forEach((path, hash) -> lines.add("source\t" + path + "\t" + hash));
+        tests.forEach((key, dependencies) -> {
+            dependencies.pages.forEach(page -> lines.add("test\t" + key + "\tpage\t" + page));
+            dependencies.sources.forEach(source -> lines.add("test\t" + key + "\tsource\t" + source));
+            dependencies.locators.forEach((constant, locator) ->
+                    lines.add("test\t" + key + "\tlocator\t" + constant + "\t" + locator));
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Set<String> changed(Map<String, String> before, Map<String, String> now) {
+        Set<String> changed = new TreeSet<>();
+        before.forEach((path, hash) -> {
+            if (!hash.equals(now.get(path))) {
+                changed.add(path);
+            }
+        });
+        now.keySet().stream().filter(path -> !before.containsKey(path)).forEach(changed::add);
+        return changed;
+    }
+
+    private static Map<String, String> hashFixtures() {
+        Map<String, String> hashes = new TreeMap<>();
+        hashTree(FIXTURES, path -> true, bytes -> bytes, hashes);
+        return hashes;
+    }
+
+    private static Map<String, String> hashSources() {
+        Map<String, String> hashes = new TreeMap<>();
+        for (Path root : SOURCES) {
+            hashTree(root, path -> path.endsWith(".java"), bytes -> BY_CONSTANT.matcher(new String(bytes, StandardCharsets.UTF_8))
+                    .replaceAll("").getBytes(StandardCharsets.UTF_8), hashes);
+        }
+        return hashes;
+    }
+
+    private static void hashTree(Path root, Predicate<String> include, UnaryOperator<byte[]> content,
+                                 Map<String, String> hashes) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                String path = root.relativize(file).toString().replace('\\', '/');
+                if (include.test(path)) {
+                    hashes.put(path, sha256(content.apply(Files.readAllBytes(file))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The source path of a top-level class, if the class comes from this project.
+     */
+    private static Optional<String> sourceFile(Class<?> type) {
+        Class<?> top = type;
+        while (top.getEnclosingClass() != null) {
+            top = top.getEnclosingClass();
+        }
+        String path = top.getName().replace('.', '/') + ".java";
+        return SOURCES.stream().anyMatch(root -> Files.exists(root.resolve(path))) ? Optional.of(path) : Optional.empty();
+    }
+
+    private static boolean isTestClass(String source) {
+        String className = source.substring(0, source.length() - ".java".length()).replace('/', '.');
+        return ReflectionSupport.tryToLoadClass(className).toOptional()
+                .map(type -> Arrays.stream(type.getDeclaredMethods())
+                        .anyMatch(method -> AnnotationSupport.isAnnotated(method, Testable.class)))
+                .orElse(false);
+    }
+
+    private static Map<String, String> byConstants(Class<?> type) {
+        Map<String, String> constants = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && By.class.isAssignableFrom(field.getType())) {
+                locatorOf(field).ifPresent(locator -> constants.put(type.getName() + "#" + field.getName(), locator));
+            }
+        }
+        return constants;
+    }
+
+    private static String currentLocator(String constant) {
+        int hash = constant.indexOf('#');
+        return ReflectionSupport.tryToLoadClass(constant.substring(0, hash)).toOptional()
+                .flatMap(type -> Arrays.stream(type.getDeclaredFields())
+                        .filter(field -> field.getName().equals(constant.substring(hash + 1)))
+                        .findFirst())
+                .flatMap(ImpactIndex::locatorOf)
+                .orElse(null);
+    }
+
+    private static Optional<String> locatorOf(Field field) {
+        try {
+            field.setAccessible(true);
+            return Optional.ofNullable(field.get(null)).map(Objects::toString);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class Dependencies {
+        final Set<String> pages = new TreeSet<>();
+        final Set<String> sources = new TreeSet<>();
+        final Map<String, String> locators = new TreeMap<>();
+    }
+
+    /**
+     * Tests known to the index and the ones a change reaches, with the first changed dependency of each.
+     */
+    public static final class Selection {
+        private final Set<String> known;
+        private final Map<String, String> reasons;
+
+        Selection(Set<String> known, Map<String, String> reasons) {
+            this.known = known;
+            this.reasons = reasons;
+        }
+
+        /**
+         * Whether {@code key} has to run: it is new to the index or something it depends on changed.
+         */
+        public boolean includes(String key) {
+            return !known.contains(key) || reasons.containsKey(key);
+        }
+
+        public String report() {
+            StringBuilder report = new StringBuilder(String.format("affected tests: %d of %d known%n",
+                    reasons.size(), known.size()));
+            reasons.forEach((key, reason) -> report.append("  ").append(key).append(" <- ").append(reason)
+                    .append(System.lineSeparator()));
+            return report.toString();
+        }
+    }
+}
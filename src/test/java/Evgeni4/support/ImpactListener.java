@@ -0,0 +1,38 @@
+package Evgeni4.support;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the {@link ImpactIndex} when a run ends without failures. A red run leaves the index at the
+ * last green one, so the next selection still covers whatever broke. Shards do not write it: one shard
+ * only sees part of the suite.
+ */
+public class ImpactListener implements TestExecutionListener {
+    private final Set<String> ran = ConcurrentHashMap.newKeySet();
+    private volatile boolean failed;
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        if (result.getStatus() == TestExecutionResult.Status.FAILED) {
+            failed = true;
+        }
+        if (identifier.isTest() && identifier.getSource().orElse(null) instanceof MethodSource) {
+            MethodSource source = (MethodSource) identifier.getSource().get();
+            ran.add(source.getClassName() + "#" + source.getMethodName());
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!failed && !ran.isEmpty() && ShardFilter.COUNT <= 1) {
+            ImpactIndex.recordGreenRun(ImpactRecorder.shared().touched(), ran);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records what each test touches for the {@link ImpactIndex}: the fixture pages it loads, the classes
+ * it runs (the test class and its page objects) and the locators it looks up. Pages reached by the page
+ * itself, such as a form submit, are picked up when the test reads the current URL.
+ * <p>
+ * Calls are attributed to the test running on the calling thread; {@link ImpactExtension} sets it.
+ */
+public final class ImpactRecorder implements WebDriverListener {
+    private static final ImpactRecorder SHARED = new ImpactRecorder();
+
+    private final Map<String, Touched> touched = new ConcurrentHashMap<>();
+    private final ThreadLocal<Touched> current = new ThreadLocal<>();
+
+    private ImpactRecorder() {
+    }
+
+    public static ImpactRecorder shared() {
+        return SHARED;
+    }
+
+    void startTest(String key) {
+        current.set(touched.computeIfAbsent(key, k -> new Touched()));
+    }
+
+    void endTest() {
+        current.remove();
+    }
+
+    /**
+     * What each test touched in this run, by {@code Class#method}.
+     */
+    Map<String, Touched> touched() {
+        return touched;
+    }
+
+    public void page(String url) {
+        Touched test = current.get();
+        String base = Fixtures.baseUrl() + "/";
+        if (test == null || url == null || !url.startsWith(base)) {
+            return;
+        }
+        String file = url.substring(base.length()).replaceAll("[?#].*", "");
+        test.pages.add(file.isEmpty() ? "index.html" : file);
+    }
+
+    public void uses(Class<?> type) {
+        Touched test = current.get();
+        if (test != null) {
+            test.classes.add(type);
+        }
+    }
+
+    public void locator(By locator) {
+        Touched test = current.get();
+        if (test != null) {
+            test.locators.add(locator.toString());
+        }
+    }
+
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        page(url);
+    }
+
+    @Override
+    public void beforeTo(WebDriver.Navigation navigation, String url) {
+        page(url);
+    }
+
+    @Override
+    public void afterGetCurrentUrl(WebDriver driver, String result) {
+        page(result);
+    }
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        locator(locator);
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        locator(locator);
+    }
+
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        locator(locator);
+    }
+
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        locator(locator);
+    }
+
+    static final class Touched {
+        final Set<String> pages = ConcurrentHashMap.newKeySet();
+        final Set<Class<?>> classes = ConcurrentHashMap.newKeySet();
+        final Set<String> locators = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,73 @@
+package Evgeni4.support;
+
+import java.util.Random;
+
+/**
+ * Text inputs for field round-trip checks, drawn from Unicode ranges the practice forms should accept:
+ * ASCII, Latin supplements, Greek, Cyrillic, Arabic, CJK, Hangul, combining marks, odd whitespace, control
+ * characters and long mixed strings. Input {@code n} depends only on the seed and {@code n}, so nothing
+ * is kept between calls and a failing input can be regenerated from its index.
+ * <p>
+ * Only characters ChromeDriver can type are generated: the Basic Multilingual Plane without surrogates,
+ * the private use area WebDriver reserves for special keys, and the control characters that act as keys
+ * (backspace, tab, escape, delete, and the line breaks unless {@code multiLine}).
+ */
+public final class InputGenerator {
+    private static final String[] SEEDS = {"тест-12345", "Привет, мир", "ЁЖЩ ёжщ", "A_b-C.12345", "!@#$%^&*"};
+    private static final int[][] RANGES = {
+            {0x20, 0x7e},       // ASCII
+            {0xa1, 0x24f},      // Latin-1 supplement, Latin extended
+            {0x370, 0x3ff},     // Greek
+            {0x400, 0x4ff},     // Cyrillic
+            {0x600, 0x6ff},     // Arabic
+            {0x4e00, 0x9fff},   // CJK
+            {0xac00, 0xd7a3},   // Hangul
+    };
+    private static final String COMBINING = "\u0300\u0301\u0308\u0327\u0483\u20dd";
+    private static final String WHITESPACE = " \u00a0\u2002\u2003\u2009\u200b\u3000";
+    private static final String CONTROLS = "\u0001\u0002\u0007\u000b\u000c\u001f\u0085\u009f";
+
+    private final long seed;
+    private final boolean multiLine;
+    private final int maxLength;
+
+    public InputGenerator(long seed, boolean multiLine, int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength must be positive");
+        }
+        this.seed = seed;
+        this.multiLine = multiLine;
+        this.maxLength = maxLength;
+    }
+
+    public String at(long index) {
+        Random random = new Random(seed * 0x9e3779b97f4a7c15L + index);
+        int kind = random.nextInt(100);
+        if (kind < 5) {
+            return SEEDS[random.nextInt(SEEDS.length)];
+        }
+        int length = kind < 95 ? random.nextInt(Math.min(33, maxLength + 1))
+                : Math.min(maxLength, 256 + random.nextInt(1793));
+        StringBuilder input = new StringBuilder(length);
+        int[] range = RANGES[random.nextInt(RANGES.length)];
+        while (input.length() < length) {
+            int pick = random.nextInt(100);
+            if (pick < 70) {
+                input.append((char) (range[0] + random.nextInt(range[1] - range[0] + 1)));
+            } else if (pick < 80) {
+                input.append((char) (0x20 + random.nextInt(0x5f)));
+            } else if (pick < 86) {
+                input.append(WHITESPACE.charAt(random.nextInt(WHITESPACE.length())));
+            } else if (pick < 91) {
+                input.append(COMBINING.charAt(random.nextInt(COMBINING.length())));
+            } else if (pick < 96) {
+                input.append(CONTROLS.charAt(random.nextInt(CONTROLS.length())));
+            } else if (multiLine) {
+                input.append('\n');
+            } else {
+                range = RANGES[random.nextInt(RANGES.length)];
+            }
+        }
+        return input.toString();
+    }
+}
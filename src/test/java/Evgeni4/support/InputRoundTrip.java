@@ -0,0 +1,265 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Streams generated inputs through one text field of a live page and checks that what was typed is
+ * what the field holds. A batch is one {@code Actions} chain (click the field, type the input, press
+ * F9, for every input in the batch) plus one script call: a listener installed on the page records the
+ * field's value and clears it at each F9, and the script hands back the recorded values.
+ * <p>
+ * A batch the driver rejects is split in halves until the inputs it rejects are found. Every input that
+ * fails on its own is shrunk to a minimal failing string, by dropping runs of characters and then
+ * replacing characters with {@code a} while it still fails. Inputs are generated on demand and only
+ * counters and the distinct minimal cases are kept, so memory does not grow with the input count.
+ * <p>
+ * The expected value is the input without the characters typing cannot insert: control characters
+ * other than the textarea's line breaks, and line breaks in a single-line input.
+ */
+public final class InputRoundTrip {
+    private static final int MAX_KEPT = 20;
+    private static final int SHRINK_BUDGET = 200;
+    private static final Map<String, Result> RESULTS = new ConcurrentSkipListMap<>();
+
+    private static final String INSTALL =
+            "window.__roundTripField = arguments[0];"
+                    + "window.__roundTrip = [];"
+                    + "if (!window.__roundTripInstalled) {"
+                    + "  window.__roundTripInstalled = true;"
+                    + "  document.addEventListener('keydown', function (e) {"
+                    + "    if (e.key !== 'F9') { return; }"
+                    + "    e.preventDefault();"
+                    + "    window.__roundTrip.push(window.__roundTripField.value);"
+                    + "    window.__roundTripField.value = '';"
+                    + "  }, true);"
+                    + "}"
+                    + "arguments[0].value = '';";
+    private static final String COLLECT =
+            "var values = window.__roundTrip; window.__roundTrip = []; window.__roundTripField.value = ''; return values;";
+
+    static {
+        Reports.register("generated-inputs.txt", InputRoundTrip::report);
+    }
+
+    private final WebDriver driver;
+    private final WebElement field;
+    private final boolean multiLine;
+
+    public InputRoundTrip(WebDriver driver, WebElement field, boolean multiLine) {
+        this.driver = driver;
+        this.field = field;
+        this.multiLine = multiLine;
+    }
+
+    /**
+     * Types inputs {@code 0} to {@code count - 1} of {@code generator} in batches of {@code batchSize} and
+     * returns the outcome, which is also added to {@code generated-inputs.txt} under {@code name}.
+     */
+    public Result run(String name, InputGenerator generator, long count, int batchSize) {
+        Result result = new Result(name);
+        long start = System.nanoTime();
+        ((JavascriptExecutor) driver).executeScript(INSTALL, field);
+        List<String> batch = new ArrayList<>(batchSize);
+        for (long index = 0; index < count; index++) {
+            batch.add(generator.at(index));
+            if (batch.size() == batchSize || index == count - 1) {
+                result.batches++;
+                check(batch, result);
+                batch.clear();
+            }
+        }
+        result.nanos = System.nanoTime() - start;
+        RESULTS.put(name, result);
+        return result;
+    }
+
+    public String expected(String input) {
+        StringBuilder expected = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' ? multiLine : !Character.isISOControl(c)) {
+                expected.append(c);
+            }
+        }
+        return expected.toString();
+    }
+
+    private void check(List<String> batch, Result result) {
+        List<String> actual = type(batch);
+        if (actual == null || actual.size() != batch.size()) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), result);
+                return;
+            }
+            int half = batch.size() / 2;
+            check(new ArrayList<>(batch.subList(0, half)), result);
+            check(new ArrayList<>(batch.subList(half, batch.size())), result);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            result.inputs++;
+            if (!expected(batch.get(i)).equals(actual.get(i))) {
+                if (fails(batch.get(i))) {
+                    result.record(shrink(batch.get(i)));
+                } else {
+                    result.contextual++;
+                }
+            }
+        }
+    }
+
+    private void fail(String input, Result result) {
+        result.inputs++;
+        result.record(shrink(input));
+    }
+
+    /**
+     * Types {@code inputs} and returns the recorded values, or {@code null} if the driver rejected the chain.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> type(List<String> inputs) {
+        Actions actions = new Actions(driver);
+        for (String input : inputs) {
+            actions.click(field);
+            if (!input.isEmpty()) {
+                actions.sendKeys(input);
+            }
+            actions.sendKeys(Keys.F9);
+        }
+        try {
+            actions.perform();
+            return (List<String>) ((JavascriptExecutor) driver).executeScript(COLLECT);
+        } catch (WebDriverException e) {
+            ((JavascriptExecutor) driver).executeScript(COLLECT);
+            return null;
+        }
+    }
+
+    private boolean fails(String input) {
+        List<String> actual = type(List.of(input));
+        return actual == null || actual.size() != 1 || !expected(input).equals(actual.get(0));
+    }
+
+    /**
+     * Shrinks a failing input: drops ever smaller runs of code points, then turns the remaining ones into
+     * {@code a}, keeping each change that still fails. Stops after {@link #SHRINK_BUDGET} attempts.
+     */
+    String shrink(String input) {
+        return shrink(input, this::fails, SHRINK_BUDGET);
+    }
+
+    static String shrink(String input, Predicate<String> fails, int budget) {
+        int[] points = input.codePoints().toArray();
+        int attempts = 0;
+        for (int run = Math.max(1, points.length / 2); run >= 1 && attempts < budget; run /= 2) {
+            boolean removed = true;
+            while (removed && attempts < budget) {
+                removed = false;
+                for (int from = 0; from + run <= points.length && attempts < budget; from += run) {
+                    int[] candidate = new int[points.length - run];
+                    System.arraycopy(points, 0, candidate, 0, from);
+                    System.arraycopy(points, from + run, candidate, from, points.length - from - run);
+                    attempts++;
+                    if (fails.test(new String(candidate, 0, candidate.length))) {
+                        points = candidate;
+                        removed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < points.length && attempts < budget; i++) {
+            if (points[i] == 'a') {
+                continue;
+            }
+            int[] candidate = points.clone();
+            candidate[i] = 'a';
+            attempts++;
+            if (fails.test(new String(candidate, 0, candidate.length))) {
+                points = candidate;
+            }
+        }
+        return new String(points, 0, points.length);
+    }
+
+    private static String report() {
+        if (RESULTS.isEmpty()) {
+            return "";
+        }
+        StringBuilder report = new StringBuilder();
+        RESULTS.values().forEach(result -> report.append(result));
+        return report.toString();
+    }
+
+    private static String escape(String input) {
+        StringBuilder escaped = new StringBuilder();
+        input.codePoints().forEach(c -> {
+            if (c >= 0x20 && c < 0x7f && c != '\\') {
+                escaped.append((char) c);
+            } else {
+                escaped.append(String.format("\\u%04x", c));
+            }
+        });
+        return escaped.toString();
+    }
+
+    public static final class Result {
+        private final String name;
+        private final Map<String, Integer> minimal = new LinkedHashMap<>();
+        private long inputs;
+        private long batches;
+        private long failures;
+        private long contextual;
+        private long nanos;
+
+        Result(String name) {
+            this.name = name;
+        }
+
+        private void record(String shrunk) {
+            failures++;
+            if (minimal.containsKey(shrunk) || minimal.size() < MAX_KEPT) {
+                minimal.merge(shrunk, 1, Integer::sum);
+            }
+        }
+
+        public long inputs() {
+            return inputs;
+        }
+
+        public long failures() {
+            return failures;
+        }
+
+        /**
+         * Distinct minimal failing inputs, the first twenty found, with how many failures shrank to each.
+         */
+        public Map<String, Integer> minimal() {
+            return minimal;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(String.format(
+                    "%s: inputs=%d batches=%d failures=%d passed-alone=%d %.1f s %.0f inputs/s%n",
+                    name, inputs, batches, failures, contextual, nanos / 1e9,
+                    nanos == 0 ? 0.0 : inputs / (nanos / 1e9)));
+            minimal.forEach((input, count) ->
+                    out.append("  x").append(count).append(" \"").append(escape(input)).append('"')
+                            .append(System.lineSeparator()));
+            return out.toString();
+        }
+    }
+}
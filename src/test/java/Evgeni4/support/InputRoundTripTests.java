@@ -0,0 +1,40 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputRoundTripTests {
+    Predicate<String> tabAfterEmoji = input -> input.matches("(?s).*\\x{1F600}.*\t.*");
+
+    @Test
+    void shrinksToTheCodePointsThatFail() {
+        String shrunk = InputRoundTrip.shrink("xéy😀 zz\tqè", tabAfterEmoji, 1000);
+
+        assertEquals("😀\t", shrunk);
+    }
+
+    @Test
+    void replacesCodePointsTheFailureDoesNotNeedWithA() {
+        Predicate<String> threeLong = input -> input.codePointCount(0, input.length()) == 3;
+
+        assertEquals("aaa", InputRoundTrip.shrink("é😀z", threeLong, 1000));
+    }
+
+    @Test
+    void staysWithinTheBudget() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String shrunk = InputRoundTrip.shrink("abcdefgh😀ijklmnop\t", input -> {
+            attempts.incrementAndGet();
+            return tabAfterEmoji.test(input);
+        }, 5);
+
+        assertEquals(5, attempts.get());
+        assertTrue(tabAfterEmoji.test(shrunk));
+        assertEquals("abc", InputRoundTrip.shrink("abc", input -> true, 0));
+    }
+}
@@ -0,0 +1,16 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A driver handed to one test, either a pooled session or a tab of a shared browser.
+ */
+public interface Lease {
+
+    WebDriver driver();
+
+    /**
+     * Gives the driver back. {@code failed} marks it as possibly broken so it is not reused.
+     */
+    void release(boolean failed);
+}
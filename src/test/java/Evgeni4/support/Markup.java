@@ -0,0 +1,26 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that asserts only on served HTML: it gets a {@link PageSnapshot} fetched over plain HTTP,
+ * with no browser involved. Such tests carry the {@code markup} tag, so {@code gradle markupTests} runs
+ * them alone and in parallel. {@code markup.verifyPercent} percent of them, a different share each day,
+ * also read every element from a real browser and fail if the markup reading disagrees.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("markup")
+public @interface Markup {
+
+    /**
+     * Page to fetch, relative to {@link Fixtures#baseUrl()}. Empty uses the class's
+     * {@link SeleniumTest#page()}.
+     */
+    String value() default "";
+}
@@ -0,0 +1,67 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.time.LocalDate;
+
+/**
+ * Resolves {@link PageSnapshot} parameters of {@link Markup} tests. Each page is fetched once per run,
+ * whichever class asks first; sampled tests get a view checked against the page loaded in a leased
+ * browser. The sample is keyed on the date as well as the test, so over successive days the cross-check
+ * works its way through the whole tier instead of always hitting the same tests.
+ */
+public class MarkupExtension implements ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(MarkupExtension.class);
+    private static final int VERIFY_PERCENT = Integer.getInteger("markup.verifyPercent", 10);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == PageSnapshot.class
+                && AnnotationSupport.isAnnotated(extensionContext.getTestMethod(), Markup.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        String url = Fixtures.url(page(extensionContext));
+        PageSnapshot snapshot = extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(url, PageSnapshot::fetch, PageSnapshot.class);
+        ImpactRecorder.shared().page(url);
+        if (!sampled(extensionContext)) {
+            return snapshot;
+        }
+        Lease session = extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent("live", key -> DriverPoolExtension.lease(extensionContext), Lease.class);
+        session.driver().get(url);
+        return snapshot.verifiedAgainst(session.driver());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Lease session = context.getStore(NAMESPACE).remove("live", Lease.class);
+        if (session != null) {
+            session.release(context.getExecutionException().isPresent());
+        }
+    }
+
+    private static String page(ExtensionContext context) {
+        String page = AnnotationSupport.findAnnotation(context.getTestMethod(), Markup.class).orElseThrow().value();
+        if (page.isEmpty()) {
+            page = AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SeleniumTest.class)
+                    .map(SeleniumTest::page).orElse("");
+        }
+        if (page.isEmpty()) {
+            throw new IllegalStateException(TestIds.of(context) + " is @Markup but names no page");
+        }
+        return page;
+    }
+
+    private static boolean sampled(ExtensionContext context) {
+        String key = TestIds.of(context) + "@" + LocalDate.now().toEpochDay();
+        return Math.floorMod(key.hashCode(), 100) < VERIFY_PERCENT;
+    }
+}
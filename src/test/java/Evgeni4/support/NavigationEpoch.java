@@ -0,0 +1,51 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the document changes a session made through WebDriver: {@code get}, back, forward, refresh,
+ * window and frame switches. Element handles resolved under an older epoch may point into a page
+ * that is gone. Navigation started by the page itself (a link click) is not seen here and surfaces
+ * as a {@link org.openqa.selenium.StaleElementReferenceException} instead.
+ */
+public final class NavigationEpoch implements WebDriverListener {
+    private static final Map<WebDriver, NavigationEpoch> EPOCHS = new ConcurrentHashMap<>();
+    private static final NavigationEpoch UNTRACKED = new NavigationEpoch();
+
+    private volatile long value;
+
+    NavigationEpoch() {
+    }
+
+    /**
+     * The epoch of a session started by {@link DriverFactory}, or a constant epoch for other drivers.
+     */
+    public static NavigationEpoch of(WebDriver driver) {
+        return EPOCHS.getOrDefault(driver, UNTRACKED);
+    }
+
+    static void track(WebDriver driver, NavigationEpoch epoch) {
+        EPOCHS.put(driver, epoch);
+    }
+
+    static void forget(WebDriver driver) {
+        EPOCHS.remove(driver);
+    }
+
+    public long current() {
+        return value;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver.Navigation || target instanceof WebDriver.TargetLocator
+                || target instanceof WebDriver && (method.getName().equals("get") || method.getName().equals("close"))) {
+            value++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class PageScope implements ExtensionContext.Store.CloseableResource {
+    private static final String RESET_AND_CAPTURE =
+            "var field = document.querySelector(arguments[0]);"
+                    + "if (field) { field.value = field.defaultValue; }"
+                    + "var state = { '@url': location.href };"
+                    + "var controls = document.querySelectorAll('input, select, textarea');"
+                    + "for (var i = 0; i < controls.length; i++) {"
+                    + "  var c = controls[i];"
+                    + "  if (c === field) { continue; }"
+                    + "  state[(c.name || c.id || c.tagName) + '#' + i] ="
+                    + "      c.type === 'checkbox' || c.type === 'radio' ? String(c.checked)"
+                    + "      : c.tagName === 'SELECT' ? String(c.selectedIndex) : c.value;"
+                    + "}"
+                    + "return state;";
+
+    private final Lease session;
+    private final String field;
+    private final Map<String, Object> pristine;
+    private boolean failed;
+
+    PageScope(Lease session, String field) {
+        this.session = session;
+        this.field = field;
+        this.pristine = capture();
+    }
+
+    Lease session() {
+        return session;
+    }
+
+    /**
+     * Reloads the page before a row is retried. The session is not reused after the scope ends.
+     */
+    void reload() {
+        failed = true;
+        session.driver().get((String) pristine.get("@url"));
+    }
+
+    void afterRow(boolean rowFailed) {
+        Map<String, Object> state = capture();
+        if (rowFailed || !pristine.equals(state)) {
+            failed = true;
+            session.driver().get((String) pristine.get("@url"));
+        }
+        assertEquals(pristine, state, "Row changed form state outside " + field);
+    }
+
+    @Override
+    public void close() {
+        session.release(failed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> capture() {
+        WebDriver driver = session.driver();
+        return (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(RESET_AND_CAPTURE, field);
+    }
+}
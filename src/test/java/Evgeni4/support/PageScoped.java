@@ -0,0 +1,24 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs all rows of a parameterized test against one loaded page. Between rows the {@link #field()}
+ * is reset to its default value and the rest of the form is checked against its pristine state.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Execution(ExecutionMode.SAME_THREAD)
+public @interface PageScoped {
+
+    /**
+     * CSS selector of the field the rows write to.
+     */
+    String field();
+}
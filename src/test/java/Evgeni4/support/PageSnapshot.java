@@ -0,0 +1,295 @@
+package Evgeni4.support;
+
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The DOM of a loaded page serialized in one script call, with the state WebDriver would report
+ * (visibility, enabled, selected, rendered text and the common string properties) stored next to
+ * each element. Reads return the same {@link ElementState} values a live {@code ElementState.read}
+ * would.
+ * <p>
+ * A {@linkplain #fetch fetched} snapshot is the served HTML alone, downloaded without a browser. It
+ * answers attribute, {@code tagName} and {@code text} reads; {@code displayed}, {@code enabled} and
+ * {@code selected} need layout or script and are refused.
+ */
+public final class PageSnapshot {
+    private static final String PREFIX = "data-snap-";
+    private static final String[] PROPERTIES = {
+            "value", "type", "name", "id", "min", "max", "step", "placeholder", "href", "src", "title", "alt"};
+
+    private static final String CAPTURE =
+            "var booleans = " + ElementState.BOOLEAN_ATTRIBUTES + ", props = arguments[0];"
+                    + ElementState.DISPLAYED_FUNCTION
+                    + "var root = document.documentElement, copy = root.cloneNode(true);"
+                    + "var live = [root].concat(Array.prototype.slice.call(root.querySelectorAll('*')));"
+                    + "var copies = [copy].concat(Array.prototype.slice.call(copy.querySelectorAll('*')));"
+                    + "live.forEach(function (el, i) {"
+                    + "  var out = copies[i], shown = displayed(el);"
+                    + "  out.setAttribute('" + PREFIX + "displayed', shown);"
+                    + "  out.setAttribute('" + PREFIX + "enabled', !el.matches(':disabled'));"
+                    + "  out.setAttribute('" + PREFIX + "selected', !!(el.checked || el.selected));"
+                    + "  out.setAttribute('" + PREFIX + "text', shown ? el.innerText.trim() : '');"
+                    + "  booleans.forEach(function (p) {"
+                    + "    if (el.hasAttribute(p) || el[p] === true) { out.setAttribute('" + PREFIX + "b-' + p, 'true'); }"
+                    + "  });"
+                    + "  props.forEach(function (p) {"
+                    + "    var value = el[p];"
+                    + "    if (typeof value === 'string' || typeof value === 'number') {"
+                    + "      out.setAttribute('" + PREFIX + "p-' + p, String(value));"
+                    + "    }"
+                    + "  });"
+                    + "});"
+                    + "return [document.URL, copy.outerHTML];";
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static final W3CDom W3C = new W3CDom().namespaceAware(false);
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+    private static final LongAdder CAPTURES = new LongAdder();
+    private static final LongAdder CAPTURE_NANOS = new LongAdder();
+    private static final LongAdder FETCHES = new LongAdder();
+    private static final LongAdder FETCH_NANOS = new LongAdder();
+    private static final LongAdder READS = new LongAdder();
+    private static final LongAdder READ_NANOS = new LongAdder();
+    private static final LongAdder VERIFIED_READS = new LongAdder();
+
+    static {
+        Reports.register("snapshots.txt", PageSnapshot::report);
+    }
+
+    private final String url;
+    private final Document document;
+    private final WebDriver live;
+    private final boolean fetched;
+    private org.w3c.dom.Document w3cDocument;
+    private final Map<String, List<Element>> xpathResults = new HashMap<>();
+
+    private PageSnapshot(String url, Document document, WebDriver live, boolean fetched) {
+        this.url = url;
+        this.document = document;
+        this.live = live;
+        this.fetched = fetched;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static PageSnapshot capture(WebDriver driver) {
+        long start = System.nanoTime();
+        List<String> captured = (List<String>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE, List.of(PROPERTIES));
+        PageSnapshot snapshot = new PageSnapshot(captured.get(0), Jsoup.parse(captured.get(1), captured.get(0)), null,
+                false);
+        CAPTURES.increment();
+        CAPTURE_NANOS.add(System.nanoTime() - start);
+        return snapshot;
+    }
+
+    /**
+     * Downloads {@code url} over plain HTTP and parses it as served, without running its scripts.
+     */
+    public static PageSnapshot fetch(String url) {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = HTTP.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not fetch " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + url, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Fetching " + url + " returned " + response.statusCode());
+        }
+        PageSnapshot snapshot = new PageSnapshot(url, Jsoup.parse(response.body(), url), null, true);
+        FETCHES.increment();
+        FETCH_NANOS.add(System.nanoTime() - start);
+        return snapshot;
+    }
+
+    /**
+     * A view of this snapshot that repeats every read on {@code driver}, which must show the same page
+     * untouched, and throws {@link AssertionError} when the two disagree.
+     */
+    public PageSnapshot verifiedAgainst(WebDriver driver) {
+        return new PageSnapshot(url, document, driver, fetched);
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public ElementState read(By locator, String... properties) {
+        List<ElementState> states = readAll(locator, properties);
+        if (states.isEmpty()) {
+            throw new NoSuchElementException("No element found for " + locator + " in snapshot of " + url);
+        }
+        return states.get(0);
+    }
+
+    public List<ElementState> readAll(By locator, String... properties) {
+        ImpactRecorder.shared().locator(locator);
+        long start = System.nanoTime();
+        List<ElementState> states = new ArrayList<>();
+        for (Element element : select(locator)) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String property : properties) {
+                values.put(property, fetched ? readMarkup(element, property) : read(element, property));
+            }
+            states.add(ElementState.of(values));
+        }
+        READS.increment();
+        READ_NANOS.add(System.nanoTime() - start);
+        if (live != null) {
+            List<ElementState> actual = ElementState.readAll(live, locator, properties);
+            if (!values(states).equals(values(actual))) {
+                throw new AssertionError("Snapshot of " + url + " disagrees with the live page for " + locator
+                        + "\nsnapshot: " + states + "\nlive:     " + actual);
+            }
+            VERIFIED_READS.increment();
+        }
+        return states;
+    }
+
+    private static List<Map<String, Object>> values(List<ElementState> states) {
+        List<Map<String, Object>> values = new ArrayList<>(states.size());
+        for (ElementState state : states) {
+            values.add(state.asMap());
+        }
+        return values;
+    }
+
+    private static String report() {
+        if (CAPTURES.sum() == 0 && FETCHES.sum() == 0) {
+            return "";
+        }
+        return String.format("snapshots captured: %d (%.1f ms total)%npages fetched without a browser: %d (%.1f ms total)%n"
+                        + "reads served from snapshots: %d (%.1f us avg)%nreads verified against the live page: %d%n",
+                CAPTURES.sum(), CAPTURE_NANOS.sum() / 1e6, FETCHES.sum(), FETCH_NANOS.sum() / 1e6,
+                READS.sum(), READS.sum() == 0 ? 0.0 : READ_NANOS.sum() / 1e3 / READS.sum(), VERIFIED_READS.sum());
+    }
+
+    private List<Element> select(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            switch (parameters.using()) {
+                case "css selector":
+                    return document.select(value);
+                case "xpath":
+                    return selectXpath(value);
+                case "id":
+                    return document.select("[id=\"" + value.replace("\"", "\\\"") + "\"]");
+                case "name":
+                    return document.select("[name=\"" + value.replace("\"", "\\\"") + "\"]");
+                case "tag name":
+                    return document.getElementsByTag(value);
+                case "class name":
+                    return document.getElementsByClass(value);
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Snapshots cannot evaluate " + locator);
+    }
+
+    /**
+     * Same result as {@code document.selectXpath}, which converts the whole document to a W3C DOM and
+     * looks up an XPath factory on every call. The conversion is done once, and since the snapshot never
+     * changes, so is each query: the JDK's XPath engine is several times slower than a CSS select.
+     */
+    private synchronized List<Element> selectXpath(String query) {
+        List<Element> cached = xpathResults.get(query);
+        if (cached != null) {
+            return cached;
+        }
+        if (w3cDocument == null) {
+            w3cDocument = W3C.fromJsoup(document);
+        }
+        try {
+            NodeList nodes = (NodeList) XPATH.get().evaluate(query, W3C.contextNode(w3cDocument), XPathConstants.NODESET);
+            List<Element> elements = List.copyOf(W3C.sourceNodes(nodes, Element.class));
+            xpathResults.put(query, elements);
+            return elements;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid XPath " + query, e);
+        }
+    }
+
+    private static Object read(Element element, String property) {
+        switch (property) {
+            case "displayed":
+            case "enabled":
+            case "selected":
+                return Boolean.parseBoolean(element.attr(PREFIX + property));
+            case "text":
+                return element.attr(PREFIX + "text");
+            case "tagName":
+                return element.normalName();
+            default:
+                break;
+        }
+        if (ElementState.BOOLEAN_ATTRIBUTES.contains("'" + property + "'")) {
+            return element.hasAttr(PREFIX + "b-" + property) ? "true" : null;
+        }
+        if (element.hasAttr(PREFIX + "p-" + property)) {
+            return element.attr(PREFIX + "p-" + property);
+        }
+        return element.hasAttr(property) ? element.attr(property) : null;
+    }
+
+    /**
+     * Reads {@code property} from served markup the way the browser would report it: {@code href} and
+     * {@code src} resolve against the page URL, and an option without a value attribute has its text.
+     */
+    private Object readMarkup(Element element, String property) {
+        switch (property) {
+            case "displayed":
+            case "enabled":
+            case "selected":
+                throw new IllegalArgumentException("'" + property + "' needs a browser, " + url + " was only fetched");
+            case "text":
+                return element.text();
+            case "tagName":
+                return element.normalName();
+            case "href":
+            case "src":
+                return element.hasAttr(property) ? element.absUrl(property) : null;
+            case "value":
+                if (!element.hasAttr("value") && element.normalName().equals("option")) {
+                    return element.text();
+                }
+                break;
+            default:
+                break;
+        }
+        if (ElementState.BOOLEAN_ATTRIBUTES.contains("'" + property + "'")) {
+            return element.hasAttr(property) ? "true" : null;
+        }
+        return element.hasAttr(property) ? element.attr(property) : null;
+    }
+}
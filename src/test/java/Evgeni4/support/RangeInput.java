@@ -0,0 +1,45 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Moves an {@code input[type=range]} with real arrow-key events sent as one keystroke string, so
+ * reaching a value costs one state read, one {@code sendKeys} and one verifying read.
+ */
+public final class RangeInput {
+    private final WebDriver driver;
+    private final WebElement element;
+
+    public RangeInput(WebDriver driver, WebElement element) {
+        this.driver = driver;
+        this.element = element;
+    }
+
+    /**
+     * Moves the slider to {@code target} and returns the value the browser reports afterwards.
+     */
+    public int setTo(int target) {
+        ElementState state = ElementState.read(driver, element, "min", "max", "step", "value");
+        int steps = steps(state.integer("min"), state.integer("max"), state.integer("step"),
+                state.integer("value"), target);
+        if (steps == 0) {
+            return state.integer("value");
+        }
+        return press(steps < 0 ? Keys.ARROW_LEFT : Keys.ARROW_RIGHT, Math.abs(steps));
+    }
+
+    /**
+     * Sends {@code key} {@code times} times in a single command and returns the resulting value.
+     */
+    public int press(Keys key, int times) {
+        element.sendKeys(key.toString().repeat(times));
+        return Integer.parseInt(element.getAttribute("value"));
+    }
+
+    static int steps(int min, int max, int step, int value, int target) {
+        int clamped = Math.max(min, Math.min(max, target));
+        return Math.round((clamped - value) / (float) step);
+    }
+}
@@ -0,0 +1,58 @@
+package Evgeni4.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+public final class Reports {
+    private static final Path DIR = Path.of(System.getProperty("reports.dir", "build/reports/selenium"));
+    private static final Map<String, Supplier<String>> REGISTERED = new ConcurrentSkipListMap<>();
+
+    private Reports() {
+    }
+
+    public static Path write(String name, String content) {
+        Path file = DIR.resolve(name);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    /**
+     * Reads a report written by an earlier run, if it is still in the reports directory.
+     */
+    public static Optional<String> read(String name) {
+        Path file = DIR.resolve(name);
+        try {
+            return Files.exists(file) ? Optional.of(Files.readString(file)) : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Registers a report that {@link ReportsExtension} writes once the test run ends. Suppliers returning
+     * an empty string are skipped.
+     */
+    public static void register(String name, Supplier<String> content) {
+        REGISTERED.putIfAbsent(name, content);
+    }
+
+    static void writeRegistered() {
+        REGISTERED.forEach((name, content) -> {
+            String report = content.get();
+            if (!report.isEmpty()) {
+                write(name, report);
+            }
+        });
+    }
+}
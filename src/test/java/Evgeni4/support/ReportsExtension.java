@@ -0,0 +1,25 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Writes the reports registered through {@link Reports#register} when the test run ends.
+ */
+public class ReportsExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(ReportsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(RegisteredReports.class, key -> new RegisteredReports(), RegisteredReports.class);
+    }
+
+    private static final class RegisteredReports implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            Reports.writeRegistered();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.opentest4j.TestAbortedException;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a failed test again, up to {@code retry.attempts} times ({@code -Pretries}), on arguments from
+ * {@link DriverPoolExtension#retryArguments}. A test that passes on retry counts as flaky and is
+ * recorded in {@link TestHistory}. A test that was flaky in {@code retry.quarantineAfter} of its last
+ * {@value TestHistory#FLAKY_WINDOW} runs is quarantined: when it still fails after its retries it is
+ * reported as aborted instead of failing the build.
+ * <p>
+ * The report compares the time spent on retries with the time a full rerun of the suite would take.
+ */
+public class RetryExtension implements InvocationInterceptor {
+    private static final int ATTEMPTS = Integer.getInteger("retry.attempts", 1);
+    private static final int QUARANTINE_AFTER = Integer.getInteger("retry.quarantineAfter", 3);
+
+    private static final Set<String> FLAKY = ConcurrentHashMap.newKeySet();
+    private static final Set<String> FAILED_IN_QUARANTINE = ConcurrentHashMap.newKeySet();
+    private static final Map<String, String> OUTCOMES = new ConcurrentSkipListMap<>();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder RETRY_NANOS = new LongAdder();
+    private static final AtomicLong FIRST_START = new AtomicLong(Long.MAX_VALUE);
+
+    static {
+        Reports.register("retries.txt", RetryExtension::report);
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        proceedWithRetries(invocation, invocationContext, extensionContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        proceedWithRetries(invocation, invocationContext, extensionContext);
+    }
+
+    static boolean flaky(String key) {
+        return FLAKY.contains(key);
+    }
+
+    static boolean failedInQuarantine(String key) {
+        return FAILED_IN_QUARANTINE.contains(key);
+    }
+
+    private static void proceedWithRetries(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                           ExtensionContext context) throws Throwable {
+        FIRST_START.accumulateAndGet(System.nanoTime(), Math::min);
+        Throwable failure;
+        try {
+            invocation.proceed();
+            return;
+        } catch (TestAbortedException e) {
+            throw e;
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        String key = HistoryOrder.key(context.getRequiredTestClass(), context.getRequiredTestMethod().getName());
+        Throwable lastFailure = failure;
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            // retryArguments resets the session or reloads the page, so capture the failing state first
+            FailureCaptureExtension.captureAttempt(context, attempt, lastFailure);
+            RETRIES.increment();
+            long start = System.nanoTime();
+            try {
+                Object[] arguments = DriverPoolExtension.retryArguments(context, lastFailure, invocationContext.getArguments());
+                ReflectionSupport.invokeMethod(invocationContext.getExecutable(),
+                        invocationContext.getTarget().orElse(null), arguments);
+                FLAKY.add(key);
+                OUTCOMES.put(TestIds.of(context), "flaky, passed on retry " + attempt + " after " + describe(failure, lastFailure));
+                return;
+            } catch (Throwable retryFailure) {
+                failure.addSuppressed(retryFailure);
+                lastFailure = retryFailure;
+            } finally {
+                RETRY_NANOS.add(System.nanoTime() - start);
+            }
+        }
+
+        if (ATTEMPTS > 0 && TestHistory.current().flakyRuns(key) >= QUARANTINE_AFTER) {
+            FAILED_IN_QUARANTINE.add(key);
+            OUTCOMES.put(TestIds.of(context), "quarantined, failed with " + describe(failure, lastFailure));
+            throw new TestAbortedException("Quarantined after " + TestHistory.current().flakyRuns(key)
+                    + " flaky runs; failed with " + describe(failure, lastFailure), failure);
+        }
+        if (ATTEMPTS > 0) {
+            OUTCOMES.put(TestIds.of(context), "failed on every attempt with " + describe(failure, lastFailure));
+        }
+        throw failure;
+    }
+
+    /**
+     * The first failure, and the last one as well when a retry failed differently.
+     */
+    private static String describe(Throwable first, Throwable last) {
+        return last == first ? describe(first) : describe(first) + ", last " + describe(last);
+    }
+
+    private static String describe(Throwable failure) {
+        String message = String.valueOf(failure.getMessage()).lines().findFirst().orElse("");
+        return failure.getClass().getSimpleName() + ": " + message;
+    }
+
+    private static String report() {
+        long retries = RETRIES.sum();
+        if (retries == 0) {
+            return "";
+        }
+        double retrySeconds = RETRY_NANOS.sum() / 1e9;
+        double runSeconds = (System.nanoTime() - FIRST_START.get()) / 1e9;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "retries=%d flaky=%d quarantined=%d retrySeconds=%.1f fullRerunSeconds=%.1f%n",
+                retries, FLAKY.size(), FAILED_IN_QUARANTINE.size(), retrySeconds, runSeconds));
+        report.append(String.format("retries took %.1f s; rerunning the suite would take about %.1f s (%.0f%%)%n",
+                retrySeconds, runSeconds, runSeconds == 0 ? 0 : 100 * retrySeconds / runSeconds));
+        OUTCOMES.forEach((test, outcome) -> report.append("  ").append(test).append(": ").append(outcome)
+                .append(System.lineSeparator()));
+        return report.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a browser test class. {@code WebDriver} parameters are leased from the shared {@link DriverPool};
+ * parameters of a {@link Evgeni4.pages.Page} type are page objects bound to that session.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith({ReportsExtension.class, CommandTimingExtension.class, DriverPoolExtension.class,
+        SnapshotExtension.class, MarkupExtension.class, CommandSavingsExtension.class, ImpactExtension.class, RetryExtension.class,
+        FailureCaptureExtension.class})
+public @interface SeleniumTest {
+
+    /**
+     * Practice page opened on every lease, relative to {@link Fixtures#baseUrl()}. Empty leaves the
+     * session on {@code about:blank}.
+     */
+    String page() default "";
+
+    /**
+     * {@link LaunchProfile} id for this class's sessions. Empty uses the suite default; the
+     * {@code browser.profile} property overrides both.
+     */
+    String profile() default "";
+
+    /**
+     * Whether the class's tests are independent enough to run as tabs of a shared browser. Takes effect
+     * only when {@code tabs.perBrowser} ({@code -Ptabs=N}) is set; see {@link TabHost}.
+     */
+    boolean tabs() default false;
+
+    /**
+     * Resource types the class's pages load without needing them: {@code stylesheet}, {@code script},
+     * {@code image}, {@code font} or {@code media}. Requests for them are answered empty; see
+     * {@link AssetInterceptor}.
+     */
+    String[] block() default {};
+
+    /**
+     * Whether static assets are served from the JVM-wide {@link AssetCache} instead of the network.
+     */
+    boolean cacheAssets() default false;
+}
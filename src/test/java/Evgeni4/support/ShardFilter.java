@@ -0,0 +1,103 @@
+package Evgeni4.support;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the test classes of one shard when {@code shard.count} ({@code -PshardCount}) is above one.
+ * Classes are dealt out longest first to the shard with the least work so far, using durations from
+ * {@link TestHistory}; classes without history count as the average known class. The split depends
+ * only on the discovered classes and the history file, so every node computes the same one as long
+ * as they start from the same {@code .test-history}. Registered through {@code META-INF/services}.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    static final int COUNT = Integer.getInteger("shard.count", 1);
+    static final int INDEX = Integer.getInteger("shard.index", 0);
+
+    private final Map<String, Map<String, Integer>> shardsByEngine = new HashMap<>();
+
+    /**
+     * JUnit only asks about leaves and drops classes left empty, so every test is judged by the
+     * top-level class it belongs to.
+     */
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (COUNT <= 1) {
+            return FilterResult.included("not sharded");
+        }
+        TestDescriptor topLevel = descriptor;
+        while (topLevel.getParent().map(parent -> !parent.isRoot()).orElse(false)) {
+            topLevel = topLevel.getParent().get();
+        }
+        if (!(topLevel.getSource().orElse(null) instanceof ClassSource) || topLevel.getParent().isEmpty()) {
+            return FilterResult.included("not in a test class");
+        }
+        String className = ((ClassSource) topLevel.getSource().get()).getClassName();
+        int shard = shards(topLevel.getParent().get()).getOrDefault(className, INDEX);
+        return shard == INDEX
+                ? FilterResult.included("in shard " + INDEX + " of " + COUNT)
+                : FilterResult.excluded("in shard " + shard + " of " + COUNT);
+    }
+
+    private synchronized Map<String, Integer> shards(TestDescriptor engine) {
+        return shardsByEngine.computeIfAbsent(engine.getUniqueId().toString(), key -> {
+            List<String> classes = new ArrayList<>();
+            for (TestDescriptor child : engine.getChildren()) {
+                child.getSource().filter(ClassSource.class::isInstance)
+                        .ifPresent(source -> classes.add(((ClassSource) source).getClassName()));
+            }
+            Map<String, Integer> shards = assign(classes, TestHistory.current(), COUNT);
+            if (INDEX == 0) {
+                Reports.write("shards.txt", describe(shards, TestHistory.current()));
+            }
+            return shards;
+        });
+    }
+
+    static Map<String, Integer> assign(List<String> classes, TestHistory history, int count) {
+        double known = classes.stream().map(history::classMillis).flatMap(Optional::stream)
+                .mapToDouble(Double::doubleValue).average().orElse(1);
+        List<String> longestFirst = new ArrayList<>(classes);
+        longestFirst.sort(Comparator.<String>comparingDouble(name -> history.classMillis(name).orElse(known))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        double[] load = new double[count];
+        Map<String, Integer> shards = new HashMap<>();
+        for (String name : longestFirst) {
+            int least = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (load[shard] < load[least]) {
+                    least = shard;
+                }
+            }
+            load[least] += history.classMillis(name).orElse(known);
+            shards.put(name, least);
+        }
+        return shards;
+    }
+
+    private static String describe(Map<String, Integer> shards, TestHistory history) {
+        StringBuilder report = new StringBuilder();
+        for (int shard = 0; shard < COUNT; shard++) {
+            int index = shard;
+            List<String> classes = shards.entrySet().stream()
+                    .filter(entry -> entry.getValue() == index)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            double millis = classes.stream().mapToDouble(name -> history.classMillis(name).orElse(0.0)).sum();
+            report.append(String.format("shard %d: %d classes, %.1f s known%n", shard, classes.size(), millis / 1000));
+            classes.forEach(name -> report.append("  ").append(name).append(System.lineSeparator()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardFilterTests {
+    @TempDir
+    Path dir;
+
+    @Test
+    void sameClassesAndHistoryGiveTheSameSplit() {
+        TestHistory history = history(Map.of("A#a", 400.0, "B#b", 300.0, "C#c", 200.0, "D#d", 100.0));
+
+        Map<String, Integer> shards = ShardFilter.assign(List.of("A", "B", "C", "D", "E"), history, 2);
+
+        assertEquals(shards, ShardFilter.assign(List.of("E", "D", "C", "B", "A"), history, 2));
+        assertEquals(shards, ShardFilter.assign(List.of("A", "B", "C", "D", "E"), history, 2));
+        assertEquals(Map.of("A", 0, "B", 1, "C", 0, "D", 1, "E", 1), shards);
+    }
+
+    @Test
+    void classWithoutHistoryCountsAsTheAverageClass() {
+        TestHistory history = history(Map.of("A#a", 1000.0, "B#b", 10.0));
+
+        Map<String, Integer> shards = ShardFilter.assign(List.of("A", "B", "C", "D"), history, 2);
+
+        // C and D count 505 ms each, so they fill the second shard and B joins A
+        assertEquals(Map.of("A", 0, "B", 0, "C", 1, "D", 1), shards);
+    }
+
+    @Test
+    void everyClassGetsAShardWithoutHistory() {
+        Map<String, Integer> shards = ShardFilter.assign(List.of("A", "B", "C", "D"), history(Map.of()), 2);
+
+        assertEquals(Map.of("A", 0, "B", 1, "C", 0, "D", 1), shards);
+    }
+
+    private TestHistory history(Map<String, Double> millis) {
+        Path file = dir.resolve("history-" + millis.hashCode());
+        Map<String, TestHistory.Result> results = new TreeMap<>();
+        millis.forEach((key, value) -> results.put(key, TestHistoryTests.result(value, false)));
+        return TestHistory.load(file).record(results, file);
+    }
+}
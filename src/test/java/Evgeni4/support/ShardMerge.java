@@ -0,0 +1,143 @@
+package Evgeni4.support;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of shard runs, one directory per shard under {@code build/shards}: the JUnit XML
+ * files are copied side by side and wrapped into one {@code TESTS-merged.xml}, the text reports are
+ * concatenated per name, and the shards' test results are folded into {@link TestHistory} as one run.
+ */
+public final class ShardMerge {
+    private static final String[] COUNTS = {"tests", "failures", "errors", "skipped"};
+
+    private ShardMerge() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: ShardMerge <shards dir> <merged results dir> <merged reports dir>");
+            System.exit(2);
+        }
+        Path shardsDir = Path.of(args[0]);
+        Path resultsDir = Path.of(args[1]);
+        Path reportsDir = Path.of(args[2]);
+        List<Path> shards = shards(shardsDir);
+        if (shards.isEmpty()) {
+            System.err.println("No shard output under " + shardsDir);
+            System.exit(1);
+        }
+        Files.createDirectories(resultsDir);
+        Files.createDirectories(reportsDir);
+
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Document merged = builder.newDocument();
+        Element suites = merged.createElement("testsuites");
+        suites.setAttribute("name", "merged");
+        merged.appendChild(suites);
+        Map<String, Double> totals = new HashMap<>();
+        Map<String, TestHistory.Result> results = new TreeMap<>();
+        Map<String, StringBuilder> reports = new TreeMap<>();
+
+        System.out.printf("%-8s %8s %6s %9s %9s%n", "shard", "classes", "tests", "failures", "seconds");
+        double slowest = 0;
+        double sum = 0;
+        for (Path shard : shards) {
+            String name = shard.getFileName().toString();
+            Map<String, Double> shardTotals = new HashMap<>();
+            int classes = 0;
+            for (Path xml : files(shard.resolve("test-results/test"), ".xml")) {
+                Element suite = builder.parse(xml.toFile()).getDocumentElement();
+                for (String count : COUNTS) {
+                    shardTotals.merge(count, number(suite, count), Double::sum);
+                }
+                shardTotals.merge("time", number(suite, "time"), Double::sum);
+                suites.appendChild(merged.importNode(suite, true));
+                Path copy = resultsDir.resolve(xml.getFileName());
+                if (Files.exists(copy)) {
+                    copy = resultsDir.resolve("shard" + name + "-" + xml.getFileName());
+                }
+                Files.copy(xml, copy, StandardCopyOption.REPLACE_EXISTING);
+                classes++;
+            }
+            shardTotals.forEach((key, value) -> totals.merge(key, value, Double::sum));
+            double seconds = shardTotals.getOrDefault("time", 0.0);
+            slowest = Math.max(slowest, seconds);
+            sum += seconds;
+            System.out.printf(Locale.ROOT, "%-8s %8d %6.0f %9.0f %9.1f%n", name, classes,
+                    shardTotals.getOrDefault("tests", 0.0),
+                    shardTotals.getOrDefault("failures", 0.0) + shardTotals.getOrDefault("errors", 0.0), seconds);
+
+            for (Path report : files(shard.resolve("reports/selenium"), ".txt")) {
+                reports.computeIfAbsent(report.getFileName().toString(), key -> new StringBuilder())
+                        .append("== shard ").append(name).append(" ==").append(System.lineSeparator())
+                        .append(Files.readString(report));
+            }
+            Path history = shard.resolve("test-history-results.tsv");
+            if (Files.exists(history)) {
+                results.putAll(TestHistory.readResults(history));
+            }
+        }
+
+        for (String count : COUNTS) {
+            suites.setAttribute(count, String.valueOf(totals.getOrDefault(count, 0.0).longValue()));
+        }
+        suites.setAttribute("time", String.format(Locale.ROOT, "%.3f", totals.getOrDefault("time", 0.0)));
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.transform(new DOMSource(merged), new StreamResult(resultsDir.resolve("TESTS-merged.xml").toFile()));
+        for (Map.Entry<String, StringBuilder> report : reports.entrySet()) {
+            Files.writeString(reportsDir.resolve(report.getKey()), report.getValue());
+        }
+        if (!results.isEmpty()) {
+            TestHistory.current().record(results);
+        }
+
+        System.out.printf(Locale.ROOT, "slowest shard %.1f s, mean %.1f s (imbalance x%.2f)%n",
+                slowest, sum / shards.size(), sum == 0 ? 1 : slowest / (sum / shards.size()));
+        System.out.println("merged results: " + resultsDir.resolve("TESTS-merged.xml"));
+    }
+
+    private static List<Path> shards(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.filter(Files::isDirectory)
+                    .sorted(Comparator.comparingInt((Path shard) -> shard.getFileName().toString().length())
+                            .thenComparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    private static List<Path> files(Path dir, String suffix) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.filter(file -> file.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static double number(Element element, String attribute) {
+        String value = element.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,46 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardMergeTests {
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergedSuiteSumsTheShardsCounts() throws Exception {
+        suite("0", "ATests", 3, 1, 0, 1, 2.5);
+        suite("0", "BTests", 2, 0, 1, 0, 1.0);
+        suite("1", "CTests", 4, 0, 0, 2, 3.25);
+
+        ShardMerge.main(new String[]{dir.resolve("shards").toString(), dir.resolve("results").toString(),
+                dir.resolve("reports").toString()});
+
+        Element merged = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(dir.resolve("results/TESTS-merged.xml").toFile()).getDocumentElement();
+        assertEquals("9", merged.getAttribute("tests"));
+        assertEquals("1", merged.getAttribute("failures"));
+        assertEquals("1", merged.getAttribute("errors"));
+        assertEquals("3", merged.getAttribute("skipped"));
+        assertEquals("6.750", merged.getAttribute("time"));
+        assertEquals(3, merged.getElementsByTagName("testsuite").getLength());
+        assertTrue(Files.exists(dir.resolve("results/TEST-CTests.xml")));
+    }
+
+    private void suite(String shard, String name, int tests, int failures, int errors, int skipped, double time)
+            throws Exception {
+        Path results = dir.resolve("shards").resolve(shard).resolve("test-results/test");
+        Files.createDirectories(results);
+        Files.writeString(results.resolve("TEST-" + name + ".xml"), String.format(Locale.ROOT,
+                "<testsuite name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"%d\" skipped=\"%d\" time=\"%.3f\"/>",
+                name, tests, failures, errors, skipped, time));
+    }
+}
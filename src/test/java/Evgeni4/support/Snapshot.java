@@ -0,0 +1,17 @@
+package Evgeni4.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only test that asserts against a {@link PageSnapshot} of the class's
+ * {@link SeleniumTest#page()} instead of a live browser. The snapshot is taken once per class.
+ * A sample of snapshot tests, {@code snapshot.verifyPercent} percent of them, also reads every
+ * element live and fails if the snapshot disagrees.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Snapshot {
+}
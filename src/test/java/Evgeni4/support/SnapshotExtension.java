@@ -0,0 +1,60 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Resolves {@link PageSnapshot} parameters of {@link Snapshot} tests. Each class's page is captured
+ * once per run; sampled tests get a view that is checked against a freshly leased live page.
+ */
+public class SnapshotExtension implements ParameterResolver, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SnapshotExtension.class);
+    private static final int VERIFY_PERCENT = Integer.getInteger("snapshot.verifyPercent", 25);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == PageSnapshot.class
+                && AnnotationSupport.isAnnotated(extensionContext.getTestMethod(), Snapshot.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        PageSnapshot snapshot = extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(
+                extensionContext.getRequiredTestClass(), key -> capture(extensionContext), PageSnapshot.class);
+        ImpactRecorder.shared().page(snapshot.url());
+        if (!sampled(extensionContext)) {
+            return snapshot;
+        }
+        Lease session = extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent("live", key -> DriverPoolExtension.lease(extensionContext), Lease.class);
+        return snapshot.verifiedAgainst(session.driver());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Lease session = context.getStore(NAMESPACE).remove("live", Lease.class);
+        if (session != null) {
+            session.release(context.getExecutionException().isPresent());
+        }
+    }
+
+    private static PageSnapshot capture(ExtensionContext context) {
+        Lease session = DriverPoolExtension.lease(context);
+        boolean failed = true;
+        try {
+            PageSnapshot snapshot = PageSnapshot.capture(session.driver());
+            failed = false;
+            return snapshot;
+        } finally {
+            session.release(failed);
+        }
+    }
+
+    private static boolean sampled(ExtensionContext context) {
+        return Math.floorMod(TestIds.of(context).hashCode(), 100) < VERIFY_PERCENT;
+    }
+}
@@ -0,0 +1,244 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs tests as tabs of a shared browser instead of one browser each. Up to {@code tabs.perBrowser}
+ * tabs share a pooled session. With BiDi every tab gets its own user context, so cookies and storage
+ * stay separate; without it the tabs are plain windows of one profile.
+ * <p>
+ * WebDriver has one current window per session, so a tab's driver takes the browser's lock for each
+ * command and switches to its own window first. Commands from different tabs interleave; only the
+ * window switches are extra.
+ */
+public final class TabHost {
+    private static final int TABS_PER_BROWSER = Integer.getInteger("tabs.perBrowser", 0);
+    private static final TabHost SHARED = new TabHost(TABS_PER_BROWSER);
+    private static final Set<WebDriver> TAB_DRIVERS = ConcurrentHashMap.newKeySet();
+
+    private final int tabsPerBrowser;
+    private final List<Host> hosts = new ArrayList<>();
+    private final AtomicLong tabs = new AtomicLong();
+    private final AtomicLong browsers = new AtomicLong();
+    private final AtomicLong switches = new AtomicLong();
+
+    private TabHost(int tabsPerBrowser) {
+        this.tabsPerBrowser = tabsPerBrowser;
+    }
+
+    public static TabHost shared() {
+        return SHARED;
+    }
+
+    public boolean enabled() {
+        return tabsPerBrowser > 0;
+    }
+
+    /**
+     * Whether {@code driver} is a tab of a shared browser. Such drivers must not block the session in
+     * long-running scripts, since every other tab waits for the same lock.
+     */
+    public static boolean isTab(WebDriver driver) {
+        return TAB_DRIVERS.contains(driver);
+    }
+
+    public Tab open(LaunchProfile profile) {
+        Host host;
+        synchronized (this) {
+            host = hosts.stream()
+                    .filter(candidate -> candidate.profile == profile && candidate.open < tabsPerBrowser && !candidate.broken)
+                    .findFirst()
+                    .orElse(null);
+            if (host != null) {
+                host.open++;
+            }
+        }
+        if (host == null) {
+            // leased outside the lock: the pool may block, and closing tabs must not wait for it
+            host = new Host(DriverPool.shared().lease(profile), profile);
+            browsers.incrementAndGet();
+            synchronized (this) {
+                hosts.add(host);
+                host.open++;
+            }
+        }
+        try {
+            Tab tab = host.newTab();
+            tabs.incrementAndGet();
+            return tab;
+        } catch (RuntimeException e) {
+            closed(host, true);
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        List<Host> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(hosts);
+            hosts.clear();
+        }
+        remaining.forEach(host -> host.session.release(host.broken));
+    }
+
+    public String report() {
+        return String.format("tabs=%d browsers=%d window switches=%d%n", tabs.get(), browsers.get(), switches.get());
+    }
+
+    /**
+     * Hands the browser back to the pool once its last tab is closed, so a tab host never holds a pool
+     * permit that a non-tab lease is waiting for. The next tab class leases it again, usually warm.
+     */
+    private void closed(Host host, boolean failed) {
+        synchronized (this) {
+            host.open--;
+            host.broken |= failed;
+            if (host.open == 0 && hosts.remove(host)) {
+                host.session.release(host.broken);
+            }
+        }
+    }
+
+    private final class Host {
+        final DriverPool.Session session;
+        final LaunchProfile profile;
+        final ReentrantLock lock = new ReentrantLock(true);
+        final String home;
+        final boolean contexts;
+        String current;
+        int open;
+        boolean broken;
+
+        Host(DriverPool.Session session, LaunchProfile profile) {
+            this.session = session;
+            this.profile = profile;
+            WebDriver driver = session.driver();
+            this.home = driver.getWindowHandle();
+            this.current = home;
+            this.contexts = driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent();
+        }
+
+        Tab newTab() {
+            WebDriver driver = session.driver();
+            lock.lock();
+            try {
+                String userContext = null;
+                String handle;
+                if (contexts) {
+                    userContext = new Browser(driver).createUserContext();
+                    handle = new BrowsingContext(driver, new CreateContextParameters(WindowType.TAB)
+                            .userContext(userContext)).getId();
+                } else {
+                    driver.switchTo().newWindow(WindowType.TAB);
+                    handle = driver.getWindowHandle();
+                    current = handle;
+                }
+                return new Tab(this, handle, userContext);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void focus(String handle) {
+            if (!handle.equals(current)) {
+                session.driver().switchTo().window(handle);
+                current = handle;
+                switches.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * One test's tab. Its {@link #driver()} switches to the tab before every command.
+     */
+    public final class Tab implements Lease {
+        private final Host host;
+        private final String handle;
+        private final String userContext;
+        private final WebDriver driver;
+
+        private Tab(Host host, String handle, String userContext) {
+            this.host = host;
+            this.handle = handle;
+            this.userContext = userContext;
+            this.driver = new TabDecorator(this).decorate(host.session.driver());
+            TAB_DRIVERS.add(driver);
+        }
+
+        @Override
+        public WebDriver driver() {
+            return driver;
+        }
+
+        /**
+         * Closes the tab and its user context. A failed test only loses its own tab; once the browser's
+         * last tab is gone it goes back to the pool, retired if closing a tab failed.
+         */
+        @Override
+        public void release(boolean failed) {
+            TAB_DRIVERS.remove(driver);
+            Waits.forget(driver);
+            boolean broken = false;
+            host.lock.lock();
+            try {
+                host.focus(handle);
+                host.session.driver().close();
+                host.session.driver().switchTo().window(host.home);
+                host.current = host.home;
+                if (userContext != null) {
+                    new Browser(host.session.driver()).removeUserContext(userContext);
+                }
+            } catch (RuntimeException e) {
+                broken = true;
+            } finally {
+                host.lock.unlock();
+            }
+            closed(host, broken);
+        }
+    }
+
+    private static final class TabDecorator extends WebDriverDecorator<WebDriver> {
+        private final Tab tab;
+
+        TabDecorator(Tab tab) {
+            super(WebDriver.class);
+            this.tab = tab;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            String name = method.getName();
+            if (original instanceof WebDriver && (name.equals("quit") || name.equals("close"))
+                    || original instanceof WebDriver.TargetLocator && (name.equals("window") || name.equals("newWindow"))) {
+                throw new UnsupportedOperationException(name + " is managed by TabHost for tab drivers");
+            }
+            if (original instanceof WebDriver && (name.equals("switchTo") || name.equals("navigate")
+                    || name.equals("manage"))) {
+                return super.call(target, method, args);
+            }
+            tab.host.lock.lock();
+            try {
+                tab.host.focus(tab.handle);
+                return super.call(target, method, args);
+            } finally {
+                tab.host.lock.unlock();
+            }
+        }
+    }
+}
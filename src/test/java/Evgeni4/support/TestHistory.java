@@ -0,0 +1,217 @@
+package Evgeni4.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Per-test durations, failures and flaky runs from earlier runs, kept in a small tab-separated file
+ * ({@code history.file}, {@code .test-history} in the project by default). Keys are
+ * {@code Class#method}; parameterized rows count towards their method.
+ * <p>
+ * Failures are dated in the test's own runs, not the suite's, so filtered runs such as
+ * {@code markupTests} or {@code --tests} do not age out a failure of a test they did not run.
+ */
+public final class TestHistory {
+    static final Path FILE = Path.of(System.getProperty("history.file", ".test-history"));
+
+    /**
+     * A test that failed in one of this many most recent runs is scheduled first.
+     */
+    private static final int RECENT_RUNS = 3;
+    private static final double WEIGHT = 0.5;
+    /**
+     * Flaky runs are counted over this many of a test's most recent runs.
+     */
+    static final int FLAKY_WINDOW = 20;
+
+    private static volatile TestHistory current;
+
+    private final Map<String, Entry> entries;
+    private final long runs;
+
+    private TestHistory(Map<String, Entry> entries, long runs) {
+        this.entries = entries;
+        this.runs = runs;
+    }
+
+    /**
+     * The history as it was when this run started.
+     */
+    public static TestHistory current() {
+        TestHistory history = current;
+        if (history == null) {
+            synchronized (TestHistory.class) {
+                if (current == null) {
+                    current = load(FILE);
+                }
+                history = current;
+            }
+        }
+        return history;
+    }
+
+    public Optional<Entry> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public boolean recentlyFailed(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.lastFailedRun >= 0 && entry.runs - entry.lastFailedRun <= RECENT_RUNS;
+    }
+
+    /**
+     * In how many of its last {@link #FLAKY_WINDOW} runs {@code key} failed and then passed on retry.
+     */
+    public int flakyRuns(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0 : Long.bitCount(entry.flakyRuns);
+    }
+
+    /**
+     * Known duration of a class: the sum of its methods' durations, or empty if none ran before.
+     */
+    public Optional<Double> classMillis(String className) {
+        String prefix = className + "#";
+        double total = 0;
+        boolean known = false;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue().millis;
+                known = true;
+            }
+        }
+        return known ? Optional.of(total) : Optional.empty();
+    }
+
+    public boolean classRecentlyFailed(String className) {
+        String prefix = className + "#";
+        return entries.keySet().stream().anyMatch(key -> key.startsWith(prefix) && recentlyFailed(key));
+    }
+
+    /**
+     * Folds one run's results into the history and writes it back. Durations are smoothed so one slow
+     * run does not reorder the suite.
+     */
+    TestHistory record(Map<String, Result> results) {
+        return record(results, FILE);
+    }
+
+    TestHistory record(Map<String, Result> results, Path file) {
+        long run = runs + 1;
+        Map<String, Entry> merged = new TreeMap<>(entries);
+        results.forEach((key, result) -> {
+            Entry previous = merged.get(key);
+            double millis = previous == null ? result.millis : previous.millis * (1 - WEIGHT) + result.millis * WEIGHT;
+            long testRuns = (previous == null ? 0 : previous.runs) + 1;
+            long lastFailed = result.failed ? testRuns : previous == null ? -1 : previous.lastFailedRun;
+            long flakyRuns = ((previous == null ? 0 : previous.flakyRuns) << 1 | (result.flaky ? 1 : 0))
+                    & ((1L << FLAKY_WINDOW) - 1);
+            merged.put(key, new Entry(millis, lastFailed, flakyRuns, testRuns));
+        });
+        TestHistory updated = new TestHistory(merged, run);
+        updated.save(file);
+        return updated;
+    }
+
+    /**
+     * Writes one run's results without folding them in. Shards do this, so the shared history is updated
+     * once, by {@link ShardMerge}, with every shard's results.
+     */
+    static void writeResults(Path file, Map<String, Result> results) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# test\tms\tfailed\tflaky");
+        new TreeMap<>(results).forEach((key, result) -> lines.add(key + "\t"
+                + String.format(Locale.ROOT, "%.1f", result.millis) + "\t" + result.failed + "\t" + result.flaky));
+        write(file, lines);
+    }
+
+    static Map<String, Result> readResults(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                String[] fields = line.split("\t");
+                Result result = new Result();
+                result.millis = Double.parseDouble(fields[1]);
+                result.failed = Boolean.parseBoolean(fields[2]);
+                result.flaky = Boolean.parseBoolean(fields[3]);
+                results.put(fields[0], result);
+            }
+        }
+        return results;
+    }
+
+    static TestHistory load(Path file) {
+        Map<String, Entry> entries = new TreeMap<>();
+        long runs = 0;
+        if (!Files.exists(file)) {
+            return new TestHistory(entries, runs);
+        }
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith("# runs ")) {
+                    runs = Long.parseLong(line.substring("# runs ".length()).trim());
+                } else if (!line.isBlank() && !line.startsWith("#")) {
+                    String[] fields = line.split("\t");
+                    long flakyRuns = fields.length > 4 ? Long.parseLong(fields[4], 16) : 0;
+                    entries.put(fields[0], new Entry(Double.parseDouble(fields[1]), Long.parseLong(fields[2]),
+                            flakyRuns, Long.parseLong(fields[3])));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // an unreadable history only costs the ordering, never the run
+            return new TestHistory(new TreeMap<>(), 0);
+        }
+        return new TestHistory(entries, runs);
+    }
+
+    private void save(Path file) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# runs " + runs);
+        lines.add("# test\tavg ms\tlast failed run\truns of the test\tflaky runs (bit mask, newest run lowest)");
+        entries.forEach((key, entry) -> lines.add(key + "\t" + String.format(Locale.ROOT, "%.1f", entry.millis)
+                + "\t" + entry.lastFailedRun + "\t" + entry.runs + "\t" + Long.toHexString(entry.flakyRuns)));
+        write(file, lines);
+    }
+
+    private static void write(Path file, List<String> lines) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(file, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static final class Entry {
+        private final double millis;
+        private final long lastFailedRun;
+        private final long flakyRuns;
+        private final long runs;
+
+        Entry(double millis, long lastFailedRun, long flakyRuns, long runs) {
+            this.millis = millis;
+            this.lastFailedRun = lastFailedRun;
+            this.flakyRuns = flakyRuns;
+            this.runs = runs;
+        }
+
+        public double millis() {
+            return millis;
+        }
+    }
+
+    static final class Result {
+        double millis;
+        boolean failed;
+        boolean flaky;
+    }
+}
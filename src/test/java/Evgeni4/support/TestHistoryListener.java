@@ -0,0 +1,62 @@
+package Evgeni4.support;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records each test method's duration and outcome, including flaky passes from {@link RetryExtension},
+ * and folds them into {@link TestHistory} when the run ends. A shard writes them to {@code history.results}
+ * instead, for {@link ShardMerge}. Registered through {@code META-INF/services}, so it sees every test the
+ * launcher runs.
+ */
+public class TestHistoryListener implements TestExecutionListener {
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, TestHistory.Result> results = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (identifier.isTest()) {
+            started.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long start = started.remove(identifier.getUniqueId());
+        if (start == null || !(identifier.getSource().orElse(null) instanceof MethodSource)) {
+            return;
+        }
+        MethodSource source = (MethodSource) identifier.getSource().get();
+        double millis = (System.nanoTime() - start) / 1e6;
+        String key = source.getClassName() + "#" + source.getMethodName();
+        boolean failed = result.getStatus() == TestExecutionResult.Status.FAILED || RetryExtension.failedInQuarantine(key);
+        boolean flaky = RetryExtension.flaky(key);
+        results.compute(key, (k, total) -> {
+            TestHistory.Result merged = total == null ? new TestHistory.Result() : total;
+            merged.millis += millis;
+            merged.failed |= failed;
+            merged.flaky |= flaky;
+            return merged;
+        });
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (results.isEmpty()) {
+            return;
+        }
+        String shardResults = System.getProperty("history.results", "");
+        if (shardResults.isEmpty()) {
+            TestHistory.current().record(results);
+        } else {
+            TestHistory.writeResults(Path.of(shardResults), results);
+        }
+    }
+}
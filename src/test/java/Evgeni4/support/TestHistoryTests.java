@@ -0,0 +1,64 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHistoryTests {
+    @TempDir
+    Path dir;
+
+    @Test
+    void failureStaysRecentUntilTheTestItselfRanAgain() {
+        Path file = dir.resolve("history");
+        TestHistory history = TestHistory.load(file).record(Map.of("A#a", result(true)), file);
+
+        for (int run = 0; run < 5; run++) {
+            history = history.record(Map.of("B#b", result(false)), file);
+        }
+        assertTrue(history.recentlyFailed("A#a"));
+
+        for (int run = 0; run < 3; run++) {
+            history = history.record(Map.of("A#a", result(false)), file);
+        }
+        assertTrue(history.recentlyFailed("A#a"));
+        assertTrue(TestHistory.load(file).recentlyFailed("A#a"));
+
+        history = history.record(Map.of("A#a", result(false)), file);
+        assertFalse(history.recentlyFailed("A#a"));
+        assertFalse(TestHistory.load(file).recentlyFailed("A#a"));
+    }
+
+    @Test
+    void resultsRoundTripThroughTheShardFile() throws Exception {
+        Path file = dir.resolve("results.tsv");
+        TestHistory.Result flaky = result(12.5, false);
+        flaky.flaky = true;
+        TestHistory.writeResults(file, Map.of("A#a", result(250, true), "B#b", flaky));
+
+        Map<String, TestHistory.Result> read = TestHistory.readResults(file);
+
+        assertEquals(2, read.size());
+        assertEquals(250, read.get("A#a").millis);
+        assertTrue(read.get("A#a").failed);
+        assertFalse(read.get("A#a").flaky);
+        assertEquals(12.5, read.get("B#b").millis);
+        assertFalse(read.get("B#b").failed);
+        assertTrue(read.get("B#b").flaky);
+    }
+
+    static TestHistory.Result result(boolean failed) {
+        return result(10, failed);
+    }
+
+    static TestHistory.Result result(double millis, boolean failed) {
+        TestHistory.Result result = new TestHistory.Result();
+        result.millis = millis;
+        result.failed = failed;
+        return result;
+    }
+}
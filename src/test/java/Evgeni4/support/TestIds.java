@@ -0,0 +1,18 @@
+package Evgeni4.support;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+public final class TestIds {
+
+    private TestIds() {
+    }
+
+    /**
+     * {@code Class.method} for plain tests, {@code Class.method[n] args} for parameterized invocations.
+     */
+    public static String of(ExtensionContext context) {
+        String id = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        String displayName = context.getDisplayName();
+        return displayName.startsWith("[") ? id + displayName : id;
+    }
+}
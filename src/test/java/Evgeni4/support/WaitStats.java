@@ -0,0 +1,115 @@
+package Evgeni4.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of every {@link Waits} call, grouped by wait kind and by how the wait resolved. The most recent
+ * waits are also kept in a fixed ring and the slowest of them are listed in the report; nothing is
+ * formatted until then. A writer marks its slot busy, fills it and stamps it with the wait's sequence
+ * number; the report skips slots whose stamp changes while it reads them.
+ */
+public final class WaitStats {
+    private static final int RING_SIZE = 1 << 12;
+    private static final int MASK = RING_SIZE - 1;
+    private static final int SLOWEST = 50;
+
+    private static final Map<String, Bucket> BUCKETS = new ConcurrentSkipListMap<>();
+    private static final LongAdder SLEPT_NANOS = new LongAdder();
+    private static final AtomicLongArray RING_STAMPS = new AtomicLongArray(RING_SIZE);
+    private static final AtomicLongArray RING_NANOS = new AtomicLongArray(RING_SIZE);
+    private static final AtomicIntegerArray RING_MODE = new AtomicIntegerArray(RING_SIZE);
+    private static final AtomicIntegerArray RING_COMMANDS = new AtomicIntegerArray(RING_SIZE);
+    private static final AtomicReferenceArray<String> RING_KIND = new AtomicReferenceArray<>(RING_SIZE);
+    private static final AtomicLong RING_INDEX = new AtomicLong();
+    private static final Mode[] MODES = Mode.values();
+
+    static {
+        Reports.register("waits.txt", WaitStats::report);
+    }
+
+    public enum Mode {
+        IMMEDIATE, EVENT, POLL, TIMEOUT
+    }
+
+    private WaitStats() {
+    }
+
+    static void record(String kind, Mode mode, long startNanos, int commands, long sleptNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        BUCKETS.computeIfAbsent(kind + " " + mode.name().toLowerCase(), key -> new Bucket()).add(elapsed, commands);
+        SLEPT_NANOS.add(sleptNanos);
+        long index = RING_INDEX.getAndIncrement();
+        int slot = (int) (index & MASK);
+        long previous = RING_STAMPS.get(slot);
+        // stamps are sequence + 1, 0 while empty and -1 while being written; a writer lapped by the ring skips its entry
+        if (previous >= 0 && previous <= index && RING_STAMPS.compareAndSet(slot, previous, -1)) {
+            RING_NANOS.set(slot, elapsed);
+            RING_MODE.set(slot, mode.ordinal());
+            RING_COMMANDS.set(slot, commands);
+            RING_KIND.set(slot, kind);
+            RING_STAMPS.set(slot, index + 1);
+        }
+    }
+
+    /**
+     * Total time spent sleeping between polls, i.e. the dead time a wait could not observe.
+     */
+    public static long sleptNanos() {
+        return SLEPT_NANOS.sum();
+    }
+
+    private static String report() {
+        if (BUCKETS.isEmpty()) {
+            return "";
+        }
+        StringBuilder report = new StringBuilder(String.format("%-22s %6s %10s %10s %10s%n",
+                "wait", "count", "avg ms", "max ms", "commands"));
+        BUCKETS.forEach((name, bucket) -> report.append(String.format("%-22s %6d %10.2f %10.2f %10d%n",
+                name, bucket.count.get(), bucket.totalNanos.get() / 1e6 / bucket.count.get(),
+                bucket.maxNanos.get() / 1e6, bucket.commands.get())));
+        report.append(String.format("time slept between polls: %.1f ms%n", sleptNanos() / 1e6));
+
+        long end = RING_INDEX.get();
+        List<Object[]> recent = new ArrayList<>();
+        for (long i = Math.max(0, end - RING_SIZE); i < end; i++) {
+            int slot = (int) (i & MASK);
+            if (RING_STAMPS.get(slot) != i + 1) {
+                continue;
+            }
+            Object[] entry = {RING_NANOS.get(slot), RING_KIND.get(slot), RING_MODE.get(slot), RING_COMMANDS.get(slot)};
+            if (RING_STAMPS.get(slot) == i + 1) {
+                recent.add(entry);
+            }
+        }
+        recent.sort(Comparator.comparingLong((Object[] entry) -> (Long) entry[0]).reversed());
+        report.append(String.format("%nSlowest of the last %d waits%n", recent.size()));
+        for (Object[] entry : recent.subList(0, Math.min(SLOWEST, recent.size()))) {
+            report.append(String.format("%-12s %-9s %8.2f ms  %d commands%n", entry[1],
+                    MODES[(Integer) entry[2]].name().toLowerCase(), (Long) entry[0] / 1e6, entry[3]));
+        }
+        return report.toString();
+    }
+
+    private static final class Bucket {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong commands = new AtomicLong();
+
+        void add(long nanos, int commandCount) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            commands.addAndGet(commandCount);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package Evgeni4.support;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.browsingcontext.NavigationInfo;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Waits that resolve on browser events instead of fixed-interval polling. URL waits listen to BiDi
+ * navigation events, visibility waits observe DOM mutations inside the page. When neither is available
+ * the wait polls with an interval that starts at 10 ms and backs off to 100 ms.
+ */
+public final class Waits {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long MIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final String OBSERVE_VISIBLE =
+            "var value = arguments[0], using = arguments[1], timeout = arguments[2], done = arguments[3];"
+                    + ElementState.DISPLAYED_FUNCTION
+                    + "function check() {"
+                    + "  var el = using === 'xpath'"
+                    + "      ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+                    + "      : document.querySelector(value);"
+                    + "  return el && displayed(el) ? el : null;"
+                    + "}"
+                    + "var found = check();"
+                    + "if (found) { done(found); return; }"
+                    + "var timer;"
+                    + "function onChange() {"
+                    + "  var el = check();"
+                    + "  if (el) { stop(); done(el); }"
+                    + "}"
+                    + "var observer = new MutationObserver(onChange);"
+                    + "function stop() {"
+                    + "  observer.disconnect();"
+                    + "  clearTimeout(timer);"
+                    + "  document.removeEventListener('transitionend', onChange, true);"
+                    + "  document.removeEventListener('animationend', onChange, true);"
+                    + "}"
+                    + "observer.observe(document, { subtree: true, childList: true, attributes: true });"
+                    + "document.addEventListener('transitionend', onChange, true);"
+                    + "document.addEventListener('animationend', onChange, true);"
+                    + "timer = setTimeout(function () { stop(); done(null); }, timeout);";
+
+    private static final boolean EVENTS_ENABLED = Boolean.parseBoolean(System.getProperty("waits.events", "true"));
+    private static final Map<WebDriver, Optional<NavigationEvents>> NAVIGATION_EVENTS = new ConcurrentHashMap<>();
+
+    private Waits() {
+    }
+
+    public static void urlContains(WebDriver driver, String fragment) {
+        urlContains(driver, fragment, DEFAULT_TIMEOUT);
+    }
+
+    public static void urlContains(WebDriver driver, String fragment, Duration timeout) {
+        long start = System.nanoTime();
+        CommandRecorder.shared().enterWait();
+        try {
+            awaitUrl(driver, fragment, start, start + timeout.toNanos());
+        } finally {
+            CommandRecorder.shared().exitWait(System.nanoTime() - start);
+        }
+    }
+
+    public static WebElement visible(WebDriver driver, By locator) {
+        return visible(driver, locator, DEFAULT_TIMEOUT);
+    }
+
+    public static WebElement visible(WebDriver driver, By locator, Duration timeout) {
+        long start = System.nanoTime();
+        CommandRecorder.shared().enterWait();
+        try {
+            return awaitVisible(driver, locator, timeout, start, start + timeout.toNanos());
+        } finally {
+            CommandRecorder.shared().exitWait(System.nanoTime() - start);
+        }
+    }
+
+    private static void awaitUrl(WebDriver driver, String fragment, long start, long deadline) {
+        String description = "urlContains(" + fragment + ")";
+
+        if (driver.getCurrentUrl().contains(fragment)) {
+            WaitStats.record("urlContains", WaitStats.Mode.IMMEDIATE, start, 1, 0);
+            return;
+        }
+        Optional<NavigationEvents> events = navigationEvents(driver);
+        if (events.isPresent()) {
+            if (events.get().await(fragment, () -> driver.getCurrentUrl().contains(fragment), deadline)) {
+                WaitStats.record("urlContains", WaitStats.Mode.EVENT, start, 1, 0);
+                return;
+            }
+            throw timedOut("urlContains", description, start);
+        }
+        poll("urlContains", description, start, deadline,
+                () -> driver.getCurrentUrl().contains(fragment) ? Boolean.TRUE : null);
+    }
+
+    private static WebElement awaitVisible(WebDriver driver, By locator, Duration timeout, long start, long deadline) {
+        String description = "visible(" + locator + ")";
+        ImpactRecorder.shared().locator(locator);
+
+        if (locator instanceof By.Remotable && !TabHost.isTab(driver)) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if (parameters.using().equals("css selector") || parameters.using().equals("xpath")) {
+                try {
+                    Object found = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVE_VISIBLE,
+                            parameters.value(), parameters.using(), timeout.toMillis());
+                    if (found instanceof WebElement) {
+                        WaitStats.record("visible", WaitStats.Mode.EVENT, start, 1, 0);
+                        return (WebElement) found;
+                    }
+                    throw timedOut("visible", description, start);
+                } catch (JavascriptException | ScriptTimeoutException e) {
+                    // the page navigated or the script timed out first; finish the wait by polling
+                }
+            }
+        }
+        return poll("visible", description, start, deadline, () -> {
+            WebElement element = driver.findElement(locator);
+            return element.isDisplayed() ? element : null;
+        });
+    }
+
+    /**
+     * Drops the navigation listener kept for a session that is about to quit.
+     */
+    public static void forget(WebDriver driver) {
+        Optional<NavigationEvents> events = NAVIGATION_EVENTS.remove(driver);
+        if (events != null) {
+            events.ifPresent(NavigationEvents::close);
+        }
+    }
+
+    private static <T> T poll(String kind, String description, long start, long deadline, Supplier<T> condition) {
+        long interval = MIN_POLL_NANOS;
+        long slept = 0;
+        int polls = 0;
+        while (true) {
+            T value;
+            try {
+                value = condition.get();
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                value = null;
+            }
+            polls++;
+            if (value != null) {
+                WaitStats.record(kind, WaitStats.Mode.POLL, start, polls, slept);
+                return value;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                WaitStats.record(kind, WaitStats.Mode.TIMEOUT, start, polls, slept);
+                throw new TimeoutException("Timed out after " + polls + " polls waiting for " + description);
+            }
+            long sleep = Math.min(interval, remaining);
+            LockSupport.parkNanos(sleep);
+            slept += sleep;
+            interval = Math.min(interval * 2, MAX_POLL_NANOS);
+        }
+    }
+
+    private static TimeoutException timedOut(String kind, String description, long start) {
+        WaitStats.record(kind, WaitStats.Mode.TIMEOUT, start, 1, 0);
+        return new TimeoutException("Timed out waiting for " + description);
+    }
+
+    private static Optional<NavigationEvents> navigationEvents(WebDriver driver) {
+        if (!EVENTS_ENABLED || !(driver instanceof HasBiDi) || ((HasBiDi) driver).maybeGetBiDi().isEmpty()) {
+            return Optional.empty();
+        }
+        return NAVIGATION_EVENTS.computeIfAbsent(driver, NavigationEvents::subscribe);
+    }
+
+    private static final class NavigationEvents {
+        private static final Duration FALLBACK_POLL = Duration.ofMillis(250);
+
+        private final BrowsingContextInspector inspector;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition navigated = lock.newCondition();
+        private long sequence;
+        private String url = "";
+
+        private NavigationEvents(BrowsingContextInspector inspector) {
+            this.inspector = inspector;
+        }
+
+        static Optional<NavigationEvents> subscribe(WebDriver driver) {
+            try {
+                NavigationEvents events = new NavigationEvents(new BrowsingContextInspector(driver));
+                events.inspector.onNavigationStarted(events::update);
+                events.inspector.onNavigationCommitted(events::update);
+                events.inspector.onDomContentLoaded(events::update);
+                events.inspector.onFragmentNavigated(events::update);
+                return Optional.of(events);
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+
+        /**
+         * Confirms right away, since the navigation may have finished while the subscription was being
+         * set up and then sends no event, and again on every matching event. Between events it still
+         * confirms every {@code FALLBACK_POLL}, in case an event was missed.
+         */
+        boolean await(String fragment, Supplier<Boolean> confirm, long deadline) {
+            lock.lock();
+            try {
+                long seen = -1;
+                long nextCheck = System.nanoTime();
+                while (true) {
+                    long now = System.nanoTime();
+                    boolean matched = seen != sequence && url.contains(fragment);
+                    if (!matched && now >= deadline) {
+                        return false;
+                    }
+                    if (matched || now >= nextCheck) {
+                        seen = sequence;
+                        nextCheck = now + FALLBACK_POLL.toNanos();
+                        lock.unlock();
+                        try {
+                            if (confirm.get()) {
+                                return true;
+                            }
+                        } finally {
+                            lock.lock();
+                        }
+                        continue;
+                    }
+                    navigated.awaitNanos(Math.min(deadline, nextCheck) - now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                inspector.close();
+            } catch (RuntimeException ignored) { }
+        }
+
+        private void update(NavigationInfo info) {
+            lock.lock();
+            try {
+                url = info.getUrl();
+                sequence++;
+                navigated.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,113 +1,100 @@
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
+import Evgeni4.pages.NavigationPage;
+import Evgeni4.support.Markup;
+import Evgeni4.support.PageSnapshot;
+import Evgeni4.support.SeleniumTest;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
+import static Evgeni4.pages.NavigationPage.hasClass;
 import static org.junit.jupiter.api.Assertions.*;
 
+@SeleniumTest(tabs = true, block = {"image", "font", "script"}, cacheAssets = true)
 public class SeleniumNavigatorTests {
-    WebDriver driver;
-    String baseUrl = "https://bonigarcia.dev/selenium-webdriver-java";
-
-    @BeforeEach
-    void setup() {
-        driver = new ChromeDriver();
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (driver != null) {
-            try {
-                driver.quit();
-            } finally {
-                driver = null;
-            }
-        }
-    }
 
     @Test
-    void navigationPage1Tests() {
-        driver.get(baseUrl + "/navigation1.html");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-
-        WebElement h1 = driver.findElement(By.cssSelector("h1.display-6"));
-
-        assertEquals("Navigation example", h1.getText());
+    void navigationPage1Tests(WebDriver driver) {
+        NavigationPage page = NavigationPage.open(driver, 1);
 
-        WebElement p1 = driver.findElement(By.xpath("//a[text()='1']/.."));
-        assertTrue(p1.getAttribute("class").contains("active"));
+        assertEquals("Navigation example", page.heading().getText());
 
-        WebElement previous = driver.findElement(By.xpath("//a[text()='Previous']/.."));
-        assertTrue(previous.getAttribute("class").contains("disabled"));
+        assertTrue(hasClass(page.pageItem(1), "active"));
 
-        WebElement next = driver.findElement(By.xpath("//a[text()='Next']/.."));
+        assertTrue(hasClass(page.previousItem(), "disabled"));
 
-        next.click();
-        wait.until(ExpectedConditions.urlContains("navigation2.html"));
+        page.next(2);
 
         assertTrue(driver.getCurrentUrl().endsWith("navigation2.html"));
     }
 
     @Test
-    void navigationPage1BackToIndexClickTest() {
-        driver.get(baseUrl + "/navigation1.html");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-
-        driver.findElement(By.cssSelector("a[href='index.html']")).click();
-        wait.until(ExpectedConditions.urlContains("index.html"));
+    void navigationPage1BackToIndexClickTest(WebDriver driver) {
+        NavigationPage.open(driver, 1).backToIndex();
 
         assertTrue(driver.getCurrentUrl().endsWith("/index.html"));
     }
 
     @Test
-    void navigationPage2Tests() {
-        driver.get(baseUrl + "/navigation1.html");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-
-        WebElement page1P2 = driver.findElement(By.xpath("//a[text()='2']/.."));
-        page1P2.click();
-        wait.until(ExpectedConditions.urlContains("navigation2.html"));
+    void navigationPage2Tests(WebDriver driver) {
+        NavigationPage page = NavigationPage.open(driver, 1).goTo(2);
 
         assertTrue(driver.getCurrentUrl().endsWith("/navigation2.html"));
 
-        WebElement p2 = driver.findElement(By.xpath("//a[text()='2']/.."));
-        assertTrue(p2.getAttribute("class").contains("active"));
+        assertTrue(hasClass(page.pageItem(2), "active"));
 
-        WebElement previous = driver.findElement(By.xpath("//a[text()='Previous']/.."));
-        previous.click();
+        page.previous(1);
 
-        wait.until(ExpectedConditions.urlContains("navigation1"));
         assertTrue(driver.getCurrentUrl().endsWith("navigation1.html"));
     }
 
     @Test
-    void navigationPage2NextText() {
-        driver.get(baseUrl + "/navigation2.html");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-
-        driver.findElement(By.xpath("//a[text()='Next']/..")).click();
-
-        wait.until(ExpectedConditions.urlContains("navigation3.html"));
+    void navigationPage2NextText(WebDriver driver) {
+        NavigationPage page = NavigationPage.open(driver, 2).next(3);
 
         assertTrue(driver.getCurrentUrl().endsWith("/navigation3.html"));
 
-        WebElement p3 = driver.findElement(By.xpath("//a[text()='3']/.."));
-        assertTrue(p3.getAttribute("class").contains("active"));
+        assertTrue(hasClass(page.pageItem(3), "active"));
 
-        WebElement next = driver.findElement(By.xpath("//a[text()='Next']/.."));
-        assertTrue(next.getAttribute("class").contains("disabled"));
+        assertTrue(hasClass(page.nextItem(), "disabled"));
 
-        WebElement previous = driver.findElement(By.xpath("//a[text()='Previous']/.."));
-        previous.click();
+        page.previous(2);
 
-        wait.until(ExpectedConditions.urlContains("navigation2"));
         assertTrue(driver.getCurrentUrl().endsWith("navigation2.html"));
     }
+
+    @Test
+    @Markup("navigation1.html")
+    void navigationPage1Markup(PageSnapshot page) {
+        assertTrue(classes(page, NavigationPage.pageItemLocator(1)).contains("active"));
+        assertFalse(classes(page, NavigationPage.pageItemLocator(2)).contains("active"));
+
+        assertTrue(classes(page, NavigationPage.PREVIOUS).contains("disabled"));
+        assertFalse(classes(page, NavigationPage.NEXT).contains("disabled"));
+
+        assertEquals(1, page.readAll(NavigationPage.INDEX, "tagName").size());
+    }
+
+    @Test
+    @Markup("navigation2.html")
+    void navigationPage2Markup(PageSnapshot page) {
+        assertTrue(classes(page, NavigationPage.pageItemLocator(2)).contains("active"));
+
+        assertFalse(classes(page, NavigationPage.PREVIOUS).contains("disabled"));
+        assertFalse(classes(page, NavigationPage.NEXT).contains("disabled"));
+    }
+
+    @Test
+    @Markup("navigation3.html")
+    void navigationPage3Markup(PageSnapshot page) {
+        assertTrue(classes(page, NavigationPage.pageItemLocator(3)).contains("active"));
+
+        assertTrue(classes(page, NavigationPage.NEXT).contains("disabled"));
+        assertFalse(classes(page, NavigationPage.PREVIOUS).contains("disabled"));
+
+        assertEquals(1, page.readAll(NavigationPage.INDEX, "tagName").size());
+    }
+
+    static String classes(PageSnapshot page, By item) {
+        return page.read(item, "class").string("class");
+    }
 }
@@ -1,42 +1,33 @@
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
+import Evgeni4.pages.WebFormData;
+import Evgeni4.pages.WebFormPage;
+import Evgeni4.support.ElementState;
+import Evgeni4.support.InputGenerator;
+import Evgeni4.support.InputRoundTrip;
+import Evgeni4.support.Markup;
+import Evgeni4.support.PageScoped;
+import Evgeni4.support.PageSnapshot;
+import Evgeni4.support.RangeInput;
+import Evgeni4.support.SeleniumTest;
+import Evgeni4.support.Snapshot;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.File;
-import java.time.Duration;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@SeleniumTest(page = "web-form.html")
 public class SeleniumWebFormTests {
-    WebDriver driver;
-    String baseUrl = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
-
-    @BeforeEach
-    void setup() {
-        driver = new ChromeDriver();
-        driver.get(baseUrl);
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (driver != null) {
-            try {
-                driver.quit();
-            } finally {
-                driver = null;
-            }
-        }
-    }
-
     @ParameterizedTest
+    @PageScoped(field = "[name='my-text']")
     @CsvSource({
             "12345",
             "!@#$%^&*",
@@ -45,8 +36,8 @@ public class SeleniumWebFormTests {
             "test0-123",
             "A_b-C.12345"
     })
-    void textInputShouldAcceptVariousValues(String input) {
-        WebElement element = driver.findElement(By.cssSelector("[name='my-text']"));
+    void textInputShouldAcceptVariousValues(String input, WebFormPage page) {
+        WebElement element = page.textInput();
 
         element.clear();
         element.sendKeys(input);
@@ -55,6 +46,7 @@ public class SeleniumWebFormTests {
     }
 
     @ParameterizedTest
+    @PageScoped(field = "[name='my-password']")
     @CsvSource({
             "qwerty123",
             "P@ssw0rd",
@@ -64,8 +56,8 @@ public class SeleniumWebFormTests {
             "A_b-C.12345"
     })
 
-    void passwordInputTests(String password) {
-        WebElement pwd = driver.findElement(By.cssSelector("[name='my-password']"));
+    void passwordInputTests(String password, WebFormPage page) {
+        WebElement pwd = page.passwordInput();
 
         assertEquals("password", pwd.getAttribute("type"));
 
@@ -76,6 +68,7 @@ public class SeleniumWebFormTests {
     }
 
     @ParameterizedTest
+    @PageScoped(field = "[name='my-textarea']")
     @CsvSource({
             "12345",
             "!@#$%^&*",
@@ -84,8 +77,8 @@ public class SeleniumWebFormTests {
             "test0-123",
             "A_b-C.12345"
     })
-    void textAreaParameterizedTests(String text) {
-        WebElement ta = driver.findElement(By.cssSelector("[name='my-textarea']"));
+    void textAreaParameterizedTests(String text, WebFormPage page) {
+        WebElement ta = page.textarea();
 
         ta.clear();
         ta.sendKeys(text);
@@ -93,9 +86,25 @@ public class SeleniumWebFormTests {
         assertEquals(text, ta.getAttribute("value"));
     }
 
+    /**
+     * Streams {@code inputs.count} generated inputs ({@code -PgeneratedInputs}) through each text field
+     * on one live page; see {@link InputRoundTrip}.
+     */
+    @ParameterizedTest
+    @CsvSource({"my-text", "my-password", "my-textarea"})
+    void generatedInputsRoundTrip(String field, WebFormPage page) {
+        InputGenerator inputs = new InputGenerator(Long.getLong("inputs.seed", 1) + field.hashCode(),
+                field.equals("my-textarea"), 2048);
+
+        InputRoundTrip.Result result = page.roundTrip(field)
+                .run(field, inputs, Long.getLong("inputs.count", 300), Integer.getInteger("inputs.batch", 50));
+
+        assertEquals(0, result.failures(), result::toString);
+    }
+
     @Test
-    void textAreaMultilineTest() {
-        WebElement ta = driver.findElement(By.cssSelector("[name='my-textarea']"));
+    void textAreaMultilineTest(WebFormPage page) {
+        WebElement ta = page.textarea();
 
         ta.clear();
         ta.sendKeys("Line1");
@@ -106,23 +115,24 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void disableInputIsNotEnabledAndNotNullTests() {
-        WebElement di = driver.findElement(By.cssSelector("[name='my-disabled']"));
+    @Snapshot
+    void disableInputIsNotEnabledAndNotNullTests(PageSnapshot page) {
+        ElementState di = page.read(WebFormPage.DISABLED, "enabled", "disabled");
 
-        assertFalse(di.isEnabled());
-        assertNotNull(di.getAttribute("disabled"));
+        assertFalse(di.bool("enabled"));
+        assertNotNull(di.string("disabled"));
     }
 
     @Test
-    void disableInputException() {
-        WebElement di = driver.findElement(By.cssSelector("[name='my-disabled']"));
+    void disableInputException(WebFormPage page) {
+        WebElement di = page.disabledInput();
 
         assertThrows(WebDriverException.class, () -> di.sendKeys("123"));
     }
 
     @Test
-    void readonlyInputShouldNotChangeValue() {
-        WebElement ri = driver.findElement(By.cssSelector("[name='my-readonly']"));
+    void readonlyInputShouldNotChangeValue(WebFormPage page) {
+        WebElement ri = page.readonlyInput();
 
         assertNotNull(ri.getAttribute("readonly"));
         assertTrue(ri.isEnabled());
@@ -138,21 +148,19 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void dropdownSelectDefoltOption() {
-        WebElement element = driver.findElement(By.cssSelector("[name='my-select']"));
-        Select select = new Select(element);
+    void dropdownSelectDefoltOption(WebFormPage page) {
+        Select select = page.select();
 
         String selectedText = select.getFirstSelectedOption().getText();
         assertEquals("Open this select menu", selectedText);
     }
 
     @Test
-    void dropdownSelectContainOptionsTests() {
-        Select select = new Select(driver.findElement(By.cssSelector("[name='my-select']")));
-
-        List<String> values = select.getOptions()
+    @Markup
+    void dropdownSelectContainOptionsTests(PageSnapshot page) {
+        List<String> values = page.readAll(WebFormPage.SELECT_OPTIONS, "value")
                 .stream()
-                .map(v -> v.getAttribute("value"))
+                .map(v -> v.string("value"))
                 .toList();
 
         assertTrue(values.contains("1"));
@@ -161,10 +169,8 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void dropdownSelectSelectionTest() {
-        WebElement element = driver.findElement(By.cssSelector("[name='my-select']"));
-
-        Select select = new Select(element);
+    void dropdownSelectSelectionTest(WebFormPage page) {
+        Select select = page.select();
 
         select.selectByValue("2");
         String selectValue = select.getFirstSelectedOption().getAttribute("value");
@@ -173,12 +179,11 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void dropdownDatalistContainOptionsTest() {
-        WebElement dataList = driver.findElement(By.cssSelector("datalist#my-options"));
-
-        List<String> values = dataList.findElements(By.tagName("option"))
+    @Markup
+    void dropdownDatalistContainOptionsTest(PageSnapshot page) {
+        List<String> values = page.readAll(WebFormPage.DATALIST_OPTIONS, "value")
                 .stream()
-                .map(v -> v.getAttribute("value"))
+                .map(v -> v.string("value"))
                 .toList();
 
         assertTrue(values.contains("San Francisco"));
@@ -189,8 +194,8 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void dropdownDatalistInputTest() {
-        WebElement dataList = driver.findElement(By.cssSelector("[name='my-datalist']"));
+    void dropdownDatalistInputTest(WebFormPage page) {
+        WebElement dataList = page.datalistInput();
 
         String input = "Chicago";
         dataList.clear();
@@ -200,15 +205,16 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void fileInputTypeFileTest() {
-        WebElement fileInput = driver.findElement(By.cssSelector("[name='my-file']"));
+    @Snapshot
+    void fileInputTypeFileTest(PageSnapshot page) {
+        ElementState fileInput = page.read(WebFormPage.FILE, "type");
 
-        assertEquals("file", fileInput.getAttribute("type"));
+        assertEquals("file", fileInput.string("type"));
     }
 
     @Test
-    void fileInputAcceptFileTest() {
-        WebElement fileInput = driver.findElement(By.cssSelector("[name='my-file']"));
+    void fileInputAcceptFileTest(WebFormPage page) {
+        WebElement fileInput = page.fileInput();
 
         File file = new File("src/test/resources/mando.jpg");
         fileInput.sendKeys(file.getAbsolutePath());
@@ -218,29 +224,31 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void checkboxesDisplayedEnabledTypeTests() {
-        List<WebElement> boxes = driver.findElements(By.cssSelector(".form-check-input[type='checkbox']"));
+    @Snapshot
+    void checkboxesDisplayedEnabledTypeTests(PageSnapshot page) {
+        List<ElementState> boxes = page.readAll(WebFormPage.CHECKBOXES, "type", "displayed", "enabled");
 
         assertEquals(2, boxes.size());
-        for (WebElement box : boxes) {
-            assertEquals("checkbox", box.getAttribute("type"));
-            assertTrue(box.isDisplayed());
-            assertTrue(box.isEnabled());
+        for (ElementState box : boxes) {
+            assertEquals("checkbox", box.string("type"));
+            assertTrue(box.bool("displayed"));
+            assertTrue(box.bool("enabled"));
         }
     }
 
     @Test
-    void checkboxesInitialStateTests() {
-        WebElement checked = driver.findElement(By.id("my-check-1"));
-        WebElement unchecked = driver.findElement(By.id("my-check-2"));
+    @Snapshot
+    void checkboxesInitialStateTests(PageSnapshot page) {
+        ElementState checked = page.read(WebFormPage.CHECKED_CHECKBOX, "selected");
+        ElementState unchecked = page.read(WebFormPage.DEFAULT_CHECKBOX, "selected");
 
-        assertTrue(checked.isSelected());
-        assertFalse(unchecked.isSelected());
+        assertTrue(checked.bool("selected"));
+        assertFalse(unchecked.bool("selected"));
     }
 
     @Test
-    void checkboxClickTests() {
-        WebElement box = driver.findElement(By.id("my-check-2"));
+    void checkboxClickTests(WebFormPage page) {
+        WebElement box = page.defaultCheckbox();
 
         assertFalse(box.isSelected());
         box.click();
@@ -251,22 +259,24 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void radioTypeAndNameTests() {
-        WebElement r1 = driver.findElement(By.id("my-radio-1"));
-        WebElement r2 = driver.findElement(By.id("my-radio-2"));
+    @Snapshot
+    void radioTypeAndNameTests(PageSnapshot page) {
+        List<ElementState> radios = page.readAll(WebFormPage.RADIOS, "type", "name");
+        ElementState r1 = radios.get(0);
+        ElementState r2 = radios.get(1);
 
-        assertEquals("radio", r1.getAttribute("type"));
-        assertEquals("radio", r2.getAttribute("type"));
+        assertEquals("radio", r1.string("type"));
+        assertEquals("radio", r2.string("type"));
 
-        assertEquals("my-radio", r1.getAttribute("name"));
-        assertEquals("my-radio", r2.getAttribute("name"));
+        assertEquals("my-radio", r1.string("name"));
+        assertEquals("my-radio", r2.string("name"));
 
     }
 
     @Test
-    void radioSelectedTests() {
-        WebElement r1 = driver.findElement(By.id("my-radio-1"));
-        WebElement r2 = driver.findElement(By.id("my-radio-2"));
+    void radioSelectedTests(WebFormPage page) {
+        WebElement r1 = page.checkedRadio();
+        WebElement r2 = page.defaultRadio();
 
         assertTrue(r1.isSelected());
         assertFalse(r2.isSelected());
@@ -281,59 +291,87 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void radioTextTest() {
-        WebElement r1 = driver.findElement(By.id("my-radio-1"));
-        WebElement l1 = r1.findElement(By.xpath("./ancestor::label[1]"));
-        WebElement r2 = driver.findElement(By.id("my-radio-2"));
-        WebElement l2 = r2.findElement(By.xpath("./ancestor::label[1]"));
+    @Snapshot
+    void radioTextTest(PageSnapshot page) {
+        ElementState l1 = page.read(WebFormPage.CHECKED_RADIO_LABEL, "text");
+        ElementState l2 = page.read(WebFormPage.DEFAULT_RADIO_LABEL, "text");
 
-        assertTrue(l1.getText().contains("Checked radio"));
-        assertTrue(l2.getText().contains("Default radio"));
+        assertTrue(l1.string("text").contains("Checked radio"));
+        assertTrue(l2.string("text").contains("Default radio"));
     }
 
     @Test
-    void buttonVisibleAndEnabledTests() {
-        WebElement btn = driver.findElement(By.cssSelector("button[type = 'submit'].btn"));
+    @Snapshot
+    void buttonVisibleAndEnabledTests(PageSnapshot page) {
+        ElementState btn = page.read(WebFormPage.SUBMIT, "displayed", "enabled");
 
-        assertTrue(btn.isDisplayed());
-        assertTrue(btn.isEnabled());
+        assertTrue(btn.bool("displayed"));
+        assertTrue(btn.bool("enabled"));
     }
 
     @Test
-    void buttonTextTest() {
-        WebElement btn = driver.findElement(By.cssSelector("button[type = 'submit'].btn"));
-        assertEquals("Submit", btn.getText());
+    @Snapshot
+    void buttonTextTest(PageSnapshot page) {
+        ElementState btn = page.read(WebFormPage.SUBMIT, "text");
+        assertEquals("Submit", btn.string("text"));
     }
 
     @Test
-    void buttonTypeSubmitTest() {
-        WebElement btn = driver.findElement(By.cssSelector("button[type = 'submit'].btn"));
+    @Snapshot
+    void buttonTypeSubmitTest(PageSnapshot page) {
+        ElementState btn = page.read(WebFormPage.SUBMIT, "type");
 
-        assertEquals("submit", btn.getAttribute("type"));
+        assertEquals("submit", btn.string("type"));
     }
 
     @Test
-    void buttonClickTest() {
-        WebElement btn = driver.findElement(By.cssSelector("button[type = 'submit'].btn"));
+    void buttonClickTest(WebFormPage page) {
+        page.submit();
+
+        assertEquals("Form submitted", page.heading().getText());
+    }
+
+    static Stream<WebFormData> formRecords() {
+        Path mando = Path.of("src/test/resources/mando.jpg");
+        Random random = new Random(42);
+        return Stream.concat(
+                Stream.of(WebFormData.defaults(),
+                        WebFormData.defaults()
+                                .withText("тест-12345")
+                                .withPassword("P@ssw0rd")
+                                .withTextarea("Line1\nLine2")
+                                .withSelect("2")
+                                .withDatalist("Chicago")
+                                .withFile(mando)
+                                .withChecks(false, true)
+                                .withRadio(2)
+                                .withColor("#228b22")
+                                .withDate("12/15/2025")
+                                .withRange(3)),
+                Stream.generate(() -> WebFormData.generate(random, mando)).limit(3));
+    }
 
-        btn.click();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.urlContains("submitted-form.html"));
+    @ParameterizedTest
+    @MethodSource("formRecords")
+    void wholeFormSubmitTest(WebFormData data, WebFormPage page) {
+        WebFormPage.SubmittedForm submitted = page.fillAndSubmit(data);
 
-        assertEquals("Form submitted", driver.findElement(By.cssSelector("h1.display-6")).getText());
+        assertEquals("Form submitted", submitted.heading());
+        assertEquals(data.expectedQuery(), submitted.query());
     }
 
     @Test
-    void colorTypeAndDefaultTests() {
-        WebElement color = driver.findElement(By.cssSelector("[name='my-colors']"));
+    @Snapshot
+    void colorTypeAndDefaultTests(PageSnapshot page) {
+        ElementState color = page.read(WebFormPage.COLOR, "type", "value");
 
-        assertEquals("color", color.getAttribute("type"));
-        assertEquals("#563d7c", color.getAttribute("value"));
+        assertEquals("color", color.string("type"));
+        assertEquals("#563d7c", color.string("value"));
     }
 
     @Test
-    void colorInputTest() {
-        WebElement color = driver.findElement(By.cssSelector("[name='my-colors']"));
+    void colorInputTest(WebFormPage page) {
+        WebElement color = page.colorInput();
 
         String newColor = "#228b22";
         color.sendKeys(newColor);
@@ -342,16 +380,17 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void dataPickerTypeAndNameTests() {
-        WebElement date = driver.findElement(By.cssSelector(".form-control[name='my-date']"));
+    @Snapshot
+    void dataPickerTypeAndNameTests(PageSnapshot page) {
+        ElementState date = page.read(WebFormPage.DATE, "type", "name");
 
-        assertEquals("text", date.getAttribute("type"));
-        assertEquals("my-date", date.getAttribute("name"));
+        assertEquals("text", date.string("type"));
+        assertEquals("my-date", date.string("name"));
     }
 
     @Test
-    void dataPickerInputTest() {
-        WebElement date = driver.findElement(By.cssSelector(".form-control[name='my-date']"));
+    void dataPickerInputTest(WebFormPage page) {
+        WebElement date = page.dateInput();
 
         String newDate = "12/15/2025";
         date.clear();
@@ -361,60 +400,43 @@ public class SeleniumWebFormTests {
     }
 
     @Test
-    void sliderDefaultAttributesTests() {
-        WebElement slider = driver.findElement(By.cssSelector("[name='my-range']"));
+    @Snapshot
+    void sliderDefaultAttributesTests(PageSnapshot page) {
+        ElementState slider = page.read(WebFormPage.RANGE, "type", "name", "min", "max", "step", "value");
 
-        assertEquals("range", slider.getAttribute("type"));
-        assertEquals("my-range", slider.getAttribute("name"));
-        assertEquals("0", slider.getAttribute("min"));
-        assertEquals("10", slider.getAttribute("max"));
-        assertEquals("1", slider.getAttribute("step"));
-        assertEquals("5", slider.getAttribute("value"));
+        assertEquals("range", slider.string("type"));
+        assertEquals("my-range", slider.string("name"));
+        assertEquals("0", slider.string("min"));
+        assertEquals("10", slider.string("max"));
+        assertEquals("1", slider.string("step"));
+        assertEquals("5", slider.string("value"));
     }
 
     @Test
-    void exampleRangeLocatorTest() {
-        WebElement slider = driver.findElement(By.cssSelector("[name='my-range']"));
-
+    void exampleRangeLocatorTest(WebFormPage page) {
         int rangeValue = 3;
 
-        slider.click();
-
-        int actualValue = Integer.parseInt(slider.getAttribute("value"));
-        Keys direction = (rangeValue < actualValue) ? Keys.ARROW_LEFT : Keys.ARROW_RIGHT;
-
-        while (actualValue != rangeValue) {
-            slider.sendKeys(direction);
-            actualValue = Integer.parseInt(slider.getAttribute("value"));
-        }
+        int actualValue = page.rangeInput().setTo(rangeValue);
 
         assertEquals(rangeValue, actualValue);
     }
 
     @Test
-    void rangeSliderNotGoBelowMinOrAboveMax () {
-        WebElement slider = driver.findElement(By.cssSelector("[name='my-range']"));
+    void rangeSliderNotGoBelowMinOrAboveMax(WebFormPage page) {
+        RangeInput slider = page.rangeInput();
 
-        slider.click();
+        assertEquals(0, slider.press(Keys.ARROW_LEFT, 15));
 
-        for (int i = 0; i < 15; i++) {
-            slider.sendKeys(Keys.ARROW_LEFT);
-        }
-        assertEquals("0", slider.getAttribute("value"));
-
-        for (int i = 0; i < 15; i++) {
-            slider.sendKeys(Keys.ARROW_RIGHT);
-        }
-        assertEquals("10", slider.getAttribute("value"));
+        assertEquals(10, slider.press(Keys.ARROW_RIGHT, 15));
 
     }
 
     @Test
-    void labelSliderTest() {
-        WebElement slider = driver.findElement(By.cssSelector("[name='my-range']"));
-        WebElement label = slider.findElement(By.xpath("./ancestor::label[1]"));
+    @Snapshot
+    void labelSliderTest(PageSnapshot page) {
+        ElementState label = page.read(WebFormPage.RANGE_LABEL, "text");
 
-        assertTrue(label.getText().contains("Example range"));
+        assertTrue(label.string("text").contains("Example range"));
     }
 
 }